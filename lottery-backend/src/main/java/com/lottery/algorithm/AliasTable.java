@@ -0,0 +1,83 @@
+package com.lottery.algorithm;
+
+import java.util.SplittableRandom;
+
+/**
+ * Vose 别名表
+ * <p>
+ * O(n) 构建，之后每次按权重采样只需一个随机下标和一次比较，O(1)。
+ * 权重为 0 的项不会被抽中（浮点误差导致的极少数情况由调用方的去重逻辑兜底）。
+ */
+public final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("权重不能为空");
+        }
+        double sum = 0;
+        for (double weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("权重不能为负数");
+            }
+            sum += weight;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("权重之和必须大于0");
+        }
+
+        probability = new double[n];
+        alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1.0) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        while (largeSize > 0) {
+            probability[large[--largeSize]] = 1.0;
+        }
+        while (smallSize > 0) {
+            probability[small[--smallSize]] = 1.0;
+        }
+    }
+
+    /**
+     * 按权重抽取一个下标
+     */
+    public int sample(SplittableRandom random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * 表大小
+     */
+    public int size() {
+        return probability.length;
+    }
+}
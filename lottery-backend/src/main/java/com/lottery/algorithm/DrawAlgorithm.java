@@ -0,0 +1,27 @@
+package com.lottery.algorithm;
+
+import java.util.SplittableRandom;
+
+/**
+ * 抽奖采样算法
+ * <p>
+ * 只处理下标：从 [0, populationSize) 中无放回地抽取 count 个不同下标，
+ * 调用方再按下标取出对应人员，因此算法本身不复制人员列表。
+ */
+public interface DrawAlgorithm {
+
+    /**
+     * 无放回抽样
+     *
+     * @param populationSize 候选总数
+     * @param count 抽取数量（不超过 populationSize）
+     * @param random 随机源
+     * @return 抽中的下标，顺序即揭晓顺序
+     */
+    int[] sample(int populationSize, int count, SplittableRandom random);
+
+    /**
+     * 算法名称
+     */
+    String name();
+}
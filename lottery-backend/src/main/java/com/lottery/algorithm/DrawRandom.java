@@ -0,0 +1,31 @@
+package com.lottery.algorithm;
+
+import java.util.SplittableRandom;
+
+/**
+ * 抽奖随机源
+ * <p>
+ * SplittableRandom 不是线程安全的，每个线程从根实例 split 出自己的一份。
+ */
+public final class DrawRandom {
+
+    private static final SplittableRandom ROOT = new SplittableRandom();
+
+    private static final ThreadLocal<SplittableRandom> CURRENT = ThreadLocal.withInitial(DrawRandom::split);
+
+    private DrawRandom() {
+    }
+
+    /**
+     * 当前线程的随机源
+     */
+    public static SplittableRandom current() {
+        return CURRENT.get();
+    }
+
+    private static SplittableRandom split() {
+        synchronized (ROOT) {
+            return ROOT.split();
+        }
+    }
+}
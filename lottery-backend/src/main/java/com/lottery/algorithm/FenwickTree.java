@@ -0,0 +1,120 @@
+package com.lottery.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * 树状数组（Fenwick树），维护每个位置的券数
+ * <p>
+ * 单点修改、前缀和、按累计券数定位都是 O(log n)，
+ * 用于按券数抽奖：抽中即删除、撤销即放回，不需要整体重建。
+ */
+public final class FenwickTree {
+
+    /**
+     * 1-based 树数组
+     */
+    private long[] tree;
+
+    /**
+     * 各位置当前值（0-based）
+     */
+    private long[] values;
+
+    private long total;
+
+    public FenwickTree(int capacity) {
+        tree = new long[capacity + 1];
+        values = new long[capacity];
+    }
+
+    /**
+     * 容量
+     */
+    public int capacity() {
+        return values.length;
+    }
+
+    /**
+     * 所有位置之和
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * 某位置的值
+     */
+    public long get(int index) {
+        return values[index];
+    }
+
+    /**
+     * 设置某位置的值
+     */
+    public void set(int index, long value) {
+        long delta = value - values[index];
+        if (delta == 0) {
+            return;
+        }
+        values[index] = value;
+        total += delta;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * 扩容，保留原有值，O(n) 重建
+     */
+    public void grow(int capacity) {
+        if (capacity <= values.length) {
+            return;
+        }
+        values = Arrays.copyOf(values, capacity);
+        rebuild();
+    }
+
+    /**
+     * 清空
+     */
+    public void clear() {
+        Arrays.fill(values, 0);
+        Arrays.fill(tree, 0);
+        total = 0;
+    }
+
+    /**
+     * 定位累计和首次超过 target 的位置，即第 target 张券（从0计）所在的位置
+     *
+     * @param target 取值范围 [0, total)
+     */
+    public int find(long target) {
+        if (target < 0 || target >= total) {
+            throw new IllegalArgumentException("超出券数范围：" + target + "/" + total);
+        }
+        int position = 0;
+        long remaining = target;
+        for (int step = Integer.highestOneBit(values.length); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        // position 是累计和 <= target 的最大前缀长度，对应的 0-based 下标正好是下一个位置
+        return position;
+    }
+
+    private void rebuild() {
+        tree = new long[values.length + 1];
+        total = 0;
+        for (int i = 0; i < values.length; i++) {
+            total += values[i];
+            tree[i + 1] += values[i];
+            int parent = (i + 1) + ((i + 1) & -(i + 1));
+            if (parent < tree.length) {
+                tree[parent] += tree[i + 1];
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.lottery.algorithm;
+
+import java.util.SplittableRandom;
+
+/**
+ * 部分 Fisher-Yates 洗牌
+ * <p>
+ * 只执行前 k 步交换，被交换过的位置记录在稀疏哈希表中，
+ * 不需要物化 [0, n) 的下标数组，时间和空间都是 O(k)。
+ */
+public class FisherYatesDrawAlgorithm implements DrawAlgorithm {
+
+    @Override
+    public int[] sample(int populationSize, int count, SplittableRandom random) {
+        checkArguments(populationSize, count);
+        int[] result = new int[count];
+        IntIntHashMap swapped = new IntIntHashMap(count);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(populationSize - i);
+            int valueAtJ = swapped.getOrDefault(j, j);
+            int valueAtI = swapped.getOrDefault(i, i);
+            result[i] = valueAtJ;
+            swapped.put(j, valueAtI);
+        }
+        return result;
+    }
+
+    @Override
+    public String name() {
+        return "fisher-yates";
+    }
+
+    static void checkArguments(int populationSize, int count) {
+        if (count < 0 || count > populationSize) {
+            throw new IllegalArgumentException("抽取数量超出候选范围：" + count + "/" + populationSize);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.lottery.algorithm;
+
+import java.util.SplittableRandom;
+
+/**
+ * Floyd 抽样
+ * <p>
+ * 每一步只产生一个随机数、不会重试，得到均匀的 k 元子集；
+ * 子集内的顺序再做一次 O(k) 洗牌作为揭晓顺序。
+ */
+public class FloydDrawAlgorithm implements DrawAlgorithm {
+
+    @Override
+    public int[] sample(int populationSize, int count, SplittableRandom random) {
+        FisherYatesDrawAlgorithm.checkArguments(populationSize, count);
+        int[] result = new int[count];
+        IntIntHashMap selected = new IntIntHashMap(count);
+        int n = 0;
+        for (int j = populationSize - count; j < populationSize; j++) {
+            int t = random.nextInt(j + 1);
+            int chosen = selected.containsKey(t) ? j : t;
+            selected.put(chosen, chosen);
+            result[n++] = chosen;
+        }
+
+        // 打乱揭晓顺序
+        for (int i = count - 1; i > 0; i--) {
+            int k = random.nextInt(i + 1);
+            int tmp = result[i];
+            result[i] = result[k];
+            result[k] = tmp;
+        }
+        return result;
+    }
+
+    @Override
+    public String name() {
+        return "floyd";
+    }
+}
@@ -0,0 +1,56 @@
+package com.lottery.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * 非负 int → int 的开放寻址哈希表（线性探测）
+ * <p>
+ * 供采样算法记录稀疏交换/已选下标，容量按抽取数量 k 分配，避免按候选总数 n 分配数组。
+ */
+final class IntIntHashMap {
+
+    private static final int EMPTY = -1;
+
+    private final int[] keys;
+    private final int[] values;
+    private final int mask;
+
+    IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * 查询，不存在时返回 defaultValue
+     */
+    int getOrDefault(int key, int defaultValue) {
+        int slot = slot(key);
+        return keys[slot] == EMPTY ? defaultValue : values[slot];
+    }
+
+    boolean containsKey(int key) {
+        return keys[slot(key)] != EMPTY;
+    }
+
+    void put(int key, int value) {
+        int slot = slot(key);
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    private int slot(int key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
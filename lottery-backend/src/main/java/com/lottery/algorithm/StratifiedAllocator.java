@@ -0,0 +1,95 @@
+package com.lottery.algorithm;
+
+import java.util.SplittableRandom;
+
+/**
+ * 分层名额分配
+ * <p>
+ * 给定各层（部门）人数和可分配上限，一次性算出每层的中奖名额，不使用"抽了再退回重抽"的拒绝采样：
+ * <ul>
+ *     <li>按比例：先按人数占比取整，余下名额按小数部分从大到小补齐；</li>
+ *     <li>仅限上限：逐个名额按各层剩余人数加权选层，已满的层不再参与，
+ *     等价于在未满的层中无放回地等概率抽人。</li>
+ * </ul>
+ */
+public final class StratifiedAllocator {
+
+    private StratifiedAllocator() {
+    }
+
+    /**
+     * 计算各层名额
+     *
+     * @param sizes 各层人数
+     * @param capacities 各层最多还能分配的名额（已考虑上限和已占名额）
+     * @param count 总名额
+     * @param proportional 是否按人数比例分配
+     * @param random 随机源
+     * @return 各层名额
+     */
+    public static int[] allocate(int[] sizes, int[] capacities, int count, boolean proportional,
+                                 SplittableRandom random) {
+        int layers = sizes.length;
+        long totalCapacity = 0;
+        long population = 0;
+        for (int i = 0; i < layers; i++) {
+            totalCapacity += Math.min(sizes[i], capacities[i]);
+            population += sizes[i];
+        }
+        if (totalCapacity < count) {
+            throw new IllegalArgumentException("各部门可分配名额不足：" + totalCapacity + "/" + count);
+        }
+
+        int[] quotas = new int[layers];
+        int allocated = 0;
+
+        if (proportional && population > 0) {
+            double[] remainders = new double[layers];
+            for (int i = 0; i < layers; i++) {
+                double exact = (double) count * sizes[i] / population;
+                int floor = Math.min((int) exact, Math.min(sizes[i], capacities[i]));
+                quotas[i] = floor;
+                remainders[i] = exact - floor;
+                allocated += floor;
+            }
+            // 余数最大者优先补齐；各层都到上限时由下面的加权分配兜底
+            while (allocated < count) {
+                int best = -1;
+                for (int i = 0; i < layers; i++) {
+                    if (quotas[i] < Math.min(sizes[i], capacities[i])
+                            && (best < 0 || remainders[i] > remainders[best])) {
+                        best = i;
+                    }
+                }
+                if (best < 0 || remainders[best] <= 0) {
+                    break;
+                }
+                quotas[best]++;
+                remainders[best] = 0;
+                allocated++;
+            }
+        }
+
+        // 剩余名额按各层未分配人数加权，逐个分配
+        while (allocated < count) {
+            long open = 0;
+            for (int i = 0; i < layers; i++) {
+                if (quotas[i] < Math.min(sizes[i], capacities[i])) {
+                    open += sizes[i] - quotas[i];
+                }
+            }
+            long ticket = random.nextLong(open);
+            for (int i = 0; i < layers; i++) {
+                if (quotas[i] < Math.min(sizes[i], capacities[i])) {
+                    ticket -= sizes[i] - quotas[i];
+                    if (ticket < 0) {
+                        quotas[i]++;
+                        allocated++;
+                        break;
+                    }
+                }
+            }
+        }
+        return quotas;
+    }
+}
@@ -0,0 +1,24 @@
+package com.lottery.common;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 合并并发的相同读请求
+ * <p>
+ * 同一方法、相同参数的调用在执行期间只计算一次，其余调用等待并共用同一个结果（或异常）。
+ * 返回的对象被多个调用方共享，只适用于只读查询。
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesce {
+
+    /**
+     * 统计名称，默认为 类名.方法名
+     */
+    String value() default "";
+}
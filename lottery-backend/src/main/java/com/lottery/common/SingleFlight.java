@@ -0,0 +1,87 @@
+package com.lottery.common;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 单飞（single-flight）：相同 key 的并发调用只执行一次
+ * <p>
+ * 第一个调用方执行计算，执行期间到达的相同 key 调用等待其结果；计算结束后立即移除，
+ * 之后的调用重新计算（不做缓存）。
+ */
+public class SingleFlight {
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder collapsed = new LongAdder();
+
+    /**
+     * 执行或加入正在进行的相同计算
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> supplier) {
+        calls.increment();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            collapsed.increment();
+            return (T) await(existing);
+        }
+
+        try {
+            T result = supplier.get();
+            future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 总调用次数
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * 被合并（未实际执行）的调用次数
+     */
+    public long getCollapsed() {
+        return collapsed.sum();
+    }
+
+    /**
+     * 当前执行中的计算数
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("请求被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+}
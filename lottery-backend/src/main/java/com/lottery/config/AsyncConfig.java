@@ -0,0 +1,94 @@
+package com.lottery.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 异步执行配置
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * 领域事件广播线程池
+     * <p>
+     * 单线程保证按增量序号顺序推送。队列满时直接拒绝（不阻塞提交线程，即抽奖写线程），
+     * 由 DomainEventBroadcaster 丢弃该次推送并补发重新同步。
+     */
+    @Bean
+    public ThreadPoolTaskExecutor eventExecutor(@Value("${lottery.event.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("event-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        return executor;
+    }
+
+    /**
+     * 人员导入任务线程池
+     * <p>
+     * 导入在后台执行，上传请求立即返回任务ID；同时最多执行两个任务，其余排队。
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("import-");
+        return executor;
+    }
+
+    /**
+     * CSV 分块解析线程池
+     * <p>
+     * 线程数取 lottery.import.csv-parallelism（0 为CPU核数），所有导入任务共用，不占用公共 ForkJoinPool。
+     * 每个导入任务同时最多提交 线程数×2 块，队列按两个并发导入留足；满时提交线程阻塞等待。
+     */
+    @Bean
+    public ThreadPoolTaskExecutor csvParseExecutor(@Value("${lottery.import.csv-parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.setThreadNamePrefix("csv-parse-");
+        executor.setRejectedExecutionHandler(AsyncConfig::blockUntilQueued);
+        return executor;
+    }
+
+    /**
+     * 滚动帧推送调度器
+     */
+    @Bean
+    public ThreadPoolTaskScheduler rollScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("roll-");
+        return scheduler;
+    }
+
+    /**
+     * 拒绝策略：阻塞直到队列有空位；线程池已关闭时拒绝
+     */
+    private static void blockUntilQueued(Runnable task, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("线程池已关闭");
+        }
+        try {
+            pool.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("等待队列空位时被中断", e);
+        }
+    }
+}
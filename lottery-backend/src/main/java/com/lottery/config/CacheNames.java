@@ -0,0 +1,22 @@
+package com.lottery.config;
+
+import java.util.List;
+
+/**
+ * 缓存名称
+ * <p>
+ * 缓存规格（容量、过期时间、统计）在 application.yml 的 spring.cache 中配置。
+ */
+public final class CacheNames {
+
+    public static final String PRIZES = "prizes";
+    public static final String NEXT_PENDING_PRIZE = "nextPendingPrize";
+
+    /**
+     * 抽奖、撤销、重置及人员/奖项增删改后需要失效的缓存
+     */
+    public static final List<String> DRAW_STATE = List.of(PRIZES, NEXT_PENDING_PRIZE);
+
+    private CacheNames() {
+    }
+}
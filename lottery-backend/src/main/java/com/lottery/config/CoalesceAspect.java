@@ -0,0 +1,79 @@
+package com.lottery.config;
+
+import com.lottery.common.Coalesce;
+import com.lottery.common.SingleFlight;
+import lombok.Data;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Coalesce} 切面
+ * <p>
+ * 优先级最高，位于缓存、事务等切面之外：被合并的调用不会再进入缓存查找或开启事务。
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalesceAspect {
+
+    private final Map<String, SingleFlight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * 不绑定注解参数：本切面排在 ExposeInvocationInterceptor 之前，参数绑定所需的调用上下文此时尚未暴露
+     */
+    @Around("@annotation(com.lottery.common.Coalesce)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Coalesce coalesce = signature.getMethod().getAnnotation(Coalesce.class);
+        String name = coalesce.value().isEmpty()
+                ? signature.getDeclaringType().getSimpleName() + "." + signature.getName()
+                : coalesce.value();
+        SingleFlight flight = flights.computeIfAbsent(name, key -> new SingleFlight());
+        List<Object> key = Arrays.asList(joinPoint.getArgs());
+        return flight.execute(key, () -> {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    /**
+     * 各方法的合并统计
+     */
+    public Map<String, Stats> stats() {
+        Map<String, Stats> stats = new TreeMap<>();
+        flights.forEach((name, flight) -> {
+            Stats item = new Stats();
+            item.setCalls(flight.getCalls());
+            item.setCollapsed(flight.getCollapsed());
+            item.setInFlight(flight.getInFlight());
+            stats.put(name, item);
+        });
+        return stats;
+    }
+
+    /**
+     * 合并统计
+     */
+    @Data
+    public static class Stats {
+        private long calls;
+        private long collapsed;
+        private int inFlight;
+    }
+}
@@ -0,0 +1,41 @@
+package com.lottery.config;
+
+import com.lottery.algorithm.DrawAlgorithm;
+import com.lottery.algorithm.FisherYatesDrawAlgorithm;
+import com.lottery.algorithm.FloydDrawAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/**
+ * 抽奖算法配置
+ */
+@Configuration
+@Slf4j
+public class DrawConfig {
+
+    /**
+     * 抽奖采样算法，通过 lottery.draw.algorithm 切换：fisher-yates（默认）、floyd；
+     * 其他取值启动失败，避免拼写错误被悄悄当成默认算法
+     */
+    @Bean
+    public DrawAlgorithm drawAlgorithm(@Value("${lottery.draw.algorithm:fisher-yates}") String name) {
+        DrawAlgorithm algorithm = create(name);
+        log.info("抽奖算法：{}", algorithm.name());
+        return algorithm;
+    }
+
+    static DrawAlgorithm create(String name) {
+        String normalized = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+        if ("fisher-yates".equals(normalized)) {
+            return new FisherYatesDrawAlgorithm();
+        }
+        if ("floyd".equals(normalized)) {
+            return new FloydDrawAlgorithm();
+        }
+        throw new IllegalArgumentException("不支持的抽奖算法：" + name + "（可选 fisher-yates、floyd）");
+    }
+}
@@ -1,22 +1,47 @@
 package com.lottery.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket配置
+ * <p>
+ * 观众手机端订阅数可达数千，广播由出站线程池并行写各会话；
+ * 每个会话有独立的发送缓冲和发送时限，超出即断开该会话（慢消费者剔除），不拖慢其他会话。
+ * <p>
+ * 线程数、缓冲和时限均为未经调优的默认值。扇出实测（scripts/fanout-bench.js，单核机器上客户端与服务端共用一核，
+ * 默认配置，50人中奖结果）：5000 会话 p50 1.4–2.0 秒、p99 2.2–3.5 秒，1000 会话 p99 约 0.5 秒；
+ * 抽奖HTTP响应 0.1–0.3 秒，不随会话数变化。正式现场请在目标机器上重新测量后再调整。
  */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Value("${lottery.websocket.inbound-pool-size:8}")
+    private int inboundPoolSize;
+
+    @Value("${lottery.websocket.outbound-pool-size:16}")
+    private int outboundPoolSize;
+
+    @Value("${lottery.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${lottery.websocket.send-time-limit:10000}")
+    private int sendTimeLimit;
+
+    @Value("${lottery.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // 启用简单消息代理，前缀为 /topic
-        config.enableSimpleBroker("/topic");
+        // 启用简单消息代理：/topic 广播，/queue 点对点（时钟同步回复）
+        config.enableSimpleBroker("/topic", "/queue");
         // 客户端发送消息的前缀
         config.setApplicationDestinationPrefixes("/app");
     }
@@ -26,6 +51,32 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // 注册 STOMP 端点
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")  // 允许所有来源（生产环境需要限制）
-                .withSockJS();  // 启用 SockJS 支持
+                .withSockJS();  // 启用 SockJS 支持（非浏览器客户端可直连 /ws/websocket）
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // 入站：订阅、心跳、语音指令
+        registration.taskExecutor()
+                .corePoolSize(inboundPoolSize)
+                .maxPoolSize(inboundPoolSize)
+                .queueCapacity(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // 出站：广播扇出到各会话
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize)
+                .queueCapacity(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
     }
 }
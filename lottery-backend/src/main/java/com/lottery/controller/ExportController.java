@@ -0,0 +1,70 @@
+package com.lottery.controller;
+
+import com.lottery.service.ExportService;
+import com.lottery.service.ExportService.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 数据导出控制器
+ * <p>
+ * format 可选 xlsx（默认）或 csv，直接写入响应流。
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * 导出抽奖记录
+     */
+    @GetMapping("/records")
+    public void exportRecords(@RequestParam(defaultValue = "xlsx") String format,
+                              HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        prepare(response, "抽奖记录", exportFormat);
+        exportService.exportRecords(response.getOutputStream(), exportFormat);
+    }
+
+    /**
+     * 导出中奖名单（可按奖项）
+     */
+    @GetMapping("/winners")
+    public void exportWinners(@RequestParam(defaultValue = "xlsx") String format,
+                              @RequestParam(required = false) String prizeId,
+                              HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        prepare(response, "中奖名单", exportFormat);
+        exportService.exportWinners(response.getOutputStream(), exportFormat, prizeId);
+    }
+
+    /**
+     * 导出人员名单
+     */
+    @GetMapping("/participants")
+    public void exportParticipants(@RequestParam(defaultValue = "xlsx") String format,
+                                   HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        prepare(response, "人员名单", exportFormat);
+        exportService.exportParticipants(response.getOutputStream(), exportFormat);
+    }
+
+    private static void prepare(HttpServletResponse response, String name, ExportFormat format) {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + format.getSuffix(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+    }
+}
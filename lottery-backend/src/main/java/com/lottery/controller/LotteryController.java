@@ -1,13 +1,17 @@
 package com.lottery.controller;
 
 import com.lottery.common.Result;
+import com.lottery.dto.DrawOptions;
 import com.lottery.dto.LotteryResultDTO;
+import com.lottery.service.DrawSequencer;
 import com.lottery.service.LotteryService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 抽奖控制器
  */
@@ -18,24 +22,41 @@ import org.springframework.web.bind.annotation.*;
 public class LotteryController {
 
     private final LotteryService lotteryService;
+    private final DrawSequencer drawSequencer;
 
     /**
      * 执行抽奖
      */
     @PostMapping("/draw")
     public Result<LotteryResultDTO> draw(@RequestBody DrawRequest request) {
-        log.info("开始抽奖，奖项ID：{}，操作人：{}", request.getPrizeId(), request.getOperator());
-        LotteryResultDTO result = lotteryService.draw(request.getPrizeId(), request.getOperator());
+        log.info("开始抽奖，奖项ID：{}，操作人：{}，模式：{}",
+                request.getPrizeId(), request.getOperator(), request.getMode());
+        DrawOptions options = request.toOptions();
+        LotteryResultDTO result = drawSequencer.call(
+                () -> lotteryService.draw(request.getPrizeId(), request.getOperator(), options));
         return Result.success(result);
     }
 
+    /**
+     * 批量抽奖（多个奖项按顺序一次抽完）
+     */
+    @PostMapping("/draw-batch")
+    public Result<List<LotteryResultDTO>> drawBatch(@RequestBody BatchDrawRequest request) {
+        log.info("批量抽奖，奖项ID：{}，操作人：{}，模式：{}",
+                request.getPrizeIds(), request.getOperator(), request.getMode());
+        DrawOptions options = request.toOptions();
+        List<LotteryResultDTO> results = drawSequencer.call(
+                () -> lotteryService.drawBatch(request.getPrizeIds(), request.getOperator(), options));
+        return Result.success(results);
+    }
+
     /**
      * 撤销中奖
      */
     @PostMapping("/cancel-win")
     public Result<Void> cancelWin(@RequestBody CancelWinRequest request) {
         log.info("撤销中奖，人员ID：{}，操作人：{}", request.getParticipantId(), request.getOperator());
-        lotteryService.cancelWin(request.getParticipantId(), request.getOperator());
+        drawSequencer.run(() -> lotteryService.cancelWin(request.getParticipantId(), request.getOperator()));
         return Result.success(null);
     }
 
@@ -45,7 +66,7 @@ public class LotteryController {
     @PostMapping("/reset")
     public Result<Void> reset() {
         log.info("重置抽奖系统");
-        lotteryService.reset();
+        drawSequencer.run(lotteryService::reset);
         return Result.success(null);
     }
 
@@ -56,6 +77,29 @@ public class LotteryController {
     public static class DrawRequest {
         private String prizeId;
         private String operator;
+        private String mode;  // 抽奖模式：UNIFORM-等概率（默认）, WEIGHTED-按权重, TICKET-按券, STRATIFIED-按部门分层
+        private Integer maxPerDepartment;  // 分层模式：每部门最多中奖人数
+        private Boolean proportional;      // 分层模式：是否按部门人数比例分配
+
+        DrawOptions toOptions() {
+            return DrawOptions.of(mode, maxPerDepartment, proportional);
+        }
+    }
+
+    /**
+     * 批量抽奖请求
+     */
+    @Data
+    public static class BatchDrawRequest {
+        private List<String> prizeIds;  // 奖项ID（按抽取顺序）
+        private String operator;
+        private String mode;
+        private Integer maxPerDepartment;
+        private Boolean proportional;
+
+        DrawOptions toOptions() {
+            return DrawOptions.of(mode, maxPerDepartment, proportional);
+        }
     }
 
     /**
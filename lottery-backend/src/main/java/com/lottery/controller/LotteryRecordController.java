@@ -1,8 +1,10 @@
 package com.lottery.controller;
 
+import com.lottery.common.Coalesce;
 import com.lottery.common.Result;
 import com.lottery.entity.LotteryRecord;
 import com.lottery.repository.LotteryRecordRepository;
+import com.lottery.service.EpochService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
@@ -19,13 +21,14 @@ import java.util.List;
 public class LotteryRecordController {
 
     private final LotteryRecordRepository lotteryRecordRepository;
+    private final EpochService epochService;
 
     /**
      * 查询所有记录
      */
     @GetMapping
     public Result<List<LotteryRecord>> findAll() {
-        return Result.success(lotteryRecordRepository.findAll());
+        return Result.success(lotteryRecordRepository.findByGeneration(epochService.current()));
     }
 
     /**
@@ -33,7 +36,8 @@ public class LotteryRecordController {
      */
     @GetMapping("/prize/{prizeId}")
     public Result<List<LotteryRecord>> findByPrizeId(@PathVariable String prizeId) {
-        return Result.success(lotteryRecordRepository.findByPrizeIdAndIsCancelled(prizeId, false));
+        return Result.success(lotteryRecordRepository.findByGenerationAndPrizeIdAndIsCancelled(
+                epochService.current(), prizeId, false));
     }
 
     /**
@@ -41,14 +45,17 @@ public class LotteryRecordController {
      */
     @GetMapping("/participant/{participantId}")
     public Result<List<LotteryRecord>> findByParticipantId(@PathVariable String participantId) {
-        return Result.success(lotteryRecordRepository.findByParticipantIdAndIsCancelled(participantId, false));
+        return Result.success(lotteryRecordRepository.findByGenerationAndParticipantIdAndIsCancelled(
+                epochService.current(), participantId, false));
     }
 
     /**
      * 查询所有有效记录（未撤销）
      */
     @GetMapping("/valid")
+    @Coalesce
     public Result<List<LotteryRecord>> findValidRecords() {
-        return Result.success(lotteryRecordRepository.findByIsCancelledOrderByDrawTimeDesc(false));
+        return Result.success(lotteryRecordRepository.findByGenerationAndIsCancelledOrderByDrawTimeDesc(
+                epochService.current(), false));
     }
 }
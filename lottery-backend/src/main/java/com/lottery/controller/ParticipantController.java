@@ -1,11 +1,16 @@
 package com.lottery.controller;
 
 import com.lottery.common.Result;
+import com.lottery.dto.BulkResultDTO;
+import com.lottery.entity.ImportJob;
 import com.lottery.entity.Participant;
 import com.lottery.service.ExcelService;
+import com.lottery.service.ImportJobService;
 import com.lottery.service.ParticipantService;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -23,6 +28,7 @@ public class ParticipantController {
 
     private final ParticipantService participantService;
     private final ExcelService excelService;
+    private final ImportJobService importJobService;
 
     /**
      * 查询所有人员
@@ -65,6 +71,14 @@ public class ParticipantController {
         return Result.success(participantService.update(id, participant));
     }
 
+    /**
+     * 加券（count 为负数时减券）
+     */
+    @PostMapping("/{id}/tickets")
+    public Result<Participant> addTickets(@PathVariable String id, @RequestBody TicketRequest request) {
+        return Result.success(participantService.addTickets(id, request.getCount()));
+    }
+
     /**
      * 删除人员
      */
@@ -75,23 +89,87 @@ public class ParticipantController {
     }
 
     /**
-     * 批量删除人员
+     * 批量删除人员（逐项返回结果）
      */
     @DeleteMapping("/batch")
-    public Result<Void> deleteBatch(@RequestBody List<String> ids) {
-        participantService.deleteBatch(ids);
-        return Result.success(null);
+    public Result<BulkResultDTO> deleteBatch(@RequestBody List<String> ids) {
+        return Result.success(participantService.deleteBatch(ids));
     }
 
     /**
-     * Excel导入人员
+     * 批量新增或更新人员（按工号或姓名匹配，逐项返回结果）
+     */
+    @PostMapping("/batch")
+    public Result<BulkResultDTO> upsertBatch(@RequestBody List<Participant> participants) {
+        return Result.success(participantService.upsertBatch(participants));
+    }
+
+    /**
+     * 批量调整部门（逐项返回结果）
+     */
+    @PutMapping("/batch/department")
+    public Result<BulkResultDTO> changeDepartment(@RequestBody DepartmentRequest request) {
+        return Result.success(participantService.changeDepartment(request.getIds(), request.getDepartment()));
+    }
+
+    /**
+     * Excel导入人员（后台执行，立即返回任务，进度推送到 /topic/import/{jobId}）
      */
     @PostMapping("/import")
-    public Result<ExcelService.ImportResult> importExcel(@RequestParam("file") MultipartFile file) {
+    public Result<ImportJob> importExcel(@RequestParam("file") MultipartFile file,
+                                         @RequestParam(value = "operator", required = false) String operator) {
         if (file.isEmpty()) {
             return Result.error("文件不能为空");
         }
-        return Result.success(excelService.importParticipants(file));
+        ImportJob job = importJobService.create(file, operator);
+        return submitImport(job);
+    }
+
+    /**
+     * 最近的导入任务
+     */
+    @GetMapping("/import/jobs")
+    public Result<List<ImportJob>> importJobs() {
+        return Result.success(importJobService.findRecent());
+    }
+
+    /**
+     * 查询导入任务
+     */
+    @GetMapping("/import/{jobId}")
+    public Result<ImportJob> importJob(@PathVariable String jobId) {
+        return Result.success(importJobService.findById(jobId));
+    }
+
+    /**
+     * 取消导入（当前批次提交后停止）
+     */
+    @PostMapping("/import/{jobId}/cancel")
+    public Result<ImportJob> cancelImport(@PathVariable String jobId) {
+        return Result.success(importJobService.cancel(jobId));
+    }
+
+    /**
+     * 从检查点继续导入
+     */
+    @PostMapping("/import/{jobId}/resume")
+    public Result<ImportJob> resumeImport(@PathVariable String jobId) {
+        ImportJob job = importJobService.prepareResume(jobId);
+        return submitImport(job);
+    }
+
+    /**
+     * 提交后台导入；导入线程池排队已满时任务标记为中断（上传文件保留，稍后可继续导入）
+     */
+    private Result<ImportJob> submitImport(ImportJob job) {
+        try {
+            excelService.runImport(job.getId());
+            return Result.success(job);
+        } catch (TaskRejectedException e) {
+            log.warn("导入任务{}提交失败：导入队列已满", job.getId());
+            importJobService.markRejected(job.getId());
+            return Result.error("导入任务排队已满，请稍后继续导入");
+        }
     }
 
     /**
@@ -101,4 +179,21 @@ public class ParticipantController {
     public Result<ParticipantService.ParticipantStatistics> getStatistics() {
         return Result.success(participantService.getStatistics());
     }
+
+    /**
+     * 批量调整部门请求
+     */
+    @Data
+    public static class DepartmentRequest {
+        private List<String> ids;
+        private String department;
+    }
+
+    /**
+     * 加券请求
+     */
+    @Data
+    public static class TicketRequest {
+        private int count;
+    }
 }
@@ -1,6 +1,10 @@
 package com.lottery.controller;
 
+import com.lottery.common.Coalesce;
 import com.lottery.common.Result;
+import com.lottery.config.CoalesceAspect;
+import com.lottery.service.CacheInvalidator;
+import com.lottery.service.LiveStatistics;
 import com.lottery.service.ParticipantService;
 import com.lottery.service.PrizeService;
 import lombok.Data;
@@ -11,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * 系统控制器
@@ -23,6 +28,9 @@ public class SystemController {
 
     private final ParticipantService participantService;
     private final PrizeService prizeService;
+    private final CacheInvalidator cacheInvalidator;
+    private final LiveStatistics liveStatistics;
+    private final CoalesceAspect coalesceAspect;
 
     /**
      * 健康检查
@@ -36,15 +44,33 @@ public class SystemController {
      * 系统信息
      */
     @GetMapping("/info")
+    @Coalesce
     public Result<SystemInfo> getSystemInfo() {
         SystemInfo info = new SystemInfo();
         info.setServerTime(LocalDateTime.now());
         info.setVersion("1.0.0");
         info.setParticipantStats(participantService.getStatistics());
         info.setPrizeStats(prizeService.getStatistics());
+        info.setDepartmentStats(liveStatistics.departmentStatistics());
         return Result.success(info);
     }
 
+    /**
+     * 缓存命中统计
+     */
+    @GetMapping("/cache-stats")
+    public Result<Map<String, CacheInvalidator.CacheStats>> getCacheStats() {
+        return Result.success(cacheInvalidator.stats());
+    }
+
+    /**
+     * 并发读请求合并统计
+     */
+    @GetMapping("/coalesce-stats")
+    public Result<Map<String, CoalesceAspect.Stats>> getCoalesceStats() {
+        return Result.success(coalesceAspect.stats());
+    }
+
     /**
      * 系统信息
      */
@@ -54,5 +80,6 @@ public class SystemController {
         private String version;
         private ParticipantService.ParticipantStatistics participantStats;
         private PrizeService.PrizeStatistics prizeStats;
+        private Map<String, LiveStatistics.DepartmentStatistics> departmentStats;
     }
 }
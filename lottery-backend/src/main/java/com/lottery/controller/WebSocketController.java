@@ -1,18 +1,25 @@
 package com.lottery.controller;
 
+import com.lottery.dto.DrawOptions;
+import com.lottery.dto.LiveSnapshotDTO;
 import com.lottery.dto.LotteryResultDTO;
 import com.lottery.entity.Participant;
 import com.lottery.entity.Prize;
 import com.lottery.service.AICommandService;
+import com.lottery.service.DrawSequencer;
+import com.lottery.service.DrawStager;
+import com.lottery.service.LiveStateService;
 import com.lottery.service.LotteryService;
 import com.lottery.service.ParticipantService;
 import com.lottery.service.PrizeService;
+import com.lottery.service.RollStreamer;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 import java.util.HashMap;
@@ -30,7 +37,18 @@ public class WebSocketController {
     private final LotteryService lotteryService;
     private final PrizeService prizeService;
     private final ParticipantService participantService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final DrawSequencer drawSequencer;
+    private final DrawStager drawStager;
+    private final LiveStateService liveStateService;
+    private final RollStreamer rollStreamer;
+
+    /**
+     * 订阅现场状态快照（/app/state），之后的增量在 /topic/state
+     */
+    @SubscribeMapping("/state")
+    public LiveSnapshotDTO subscribeState() {
+        return liveStateService.snapshot();
+    }
 
     /**
      * 处理语音指令
@@ -96,24 +114,41 @@ public class WebSocketController {
             return;
         }
 
+        // 后台预抽，停止时直接揭晓
+        drawStager.start(prize.getId(), "AI指令", DrawOptions.defaults());
+
+        // 服务端滚动模式下由后端推送滚动帧
+        boolean serverRoll = rollStreamer.start(prize.getCount() - prize.getDrawnCount());
+
         response.setData(Map.of(
             "action", "START_DRAW",
-            "prize", prize
+            "prize", prize,
+            "serverRoll", serverRoll
         ));
     }
 
     /**
-     * 处理停止抽奖
+     * 处理停止抽奖：提交预抽结果（结果由事件广播推送）
      */
     private void handleStopDraw(CommandResponse response) {
-        response.setData(Map.of("action", "STOP_DRAW"));
+        rollStreamer.stop();
+        LotteryResultDTO result = drawStager.stop("AI指令");
+        if (result == null) {
+            response.setData(Map.of("action", "STOP_DRAW"));
+            return;
+        }
+
+        response.setData(Map.of(
+            "action", "STOP_DRAW",
+            "result", result
+        ));
     }
 
     /**
      * 处理重置
      */
     private void handleReset(CommandResponse response) {
-        lotteryService.reset();
+        drawSequencer.run(lotteryService::reset);
         response.setData(Map.of("action", "RESET"));
     }
 
@@ -160,7 +195,7 @@ public class WebSocketController {
             return;
         }
 
-        lotteryService.cancelWin(participant.getId(), "AI指令");
+        drawSequencer.run(() -> lotteryService.cancelWin(participant.getId(), "AI指令"));
         response.setData(Map.of(
             "action", "CANCEL",
             "participant", participant
@@ -168,10 +203,25 @@ public class WebSocketController {
     }
 
     /**
-     * 广播抽奖结果
+     * 时钟同步（NTP式）：回传客户端发送时间和服务器收发时间，
+     * 客户端据此计算往返延迟和时钟偏移
+     */
+    @MessageMapping("/time-sync")
+    @SendToUser(destinations = "/queue/time-sync", broadcast = false)
+    public TimeSyncMessage handleTimeSync(TimeSyncMessage message) {
+        message.setServerReceiveTime(System.currentTimeMillis());
+        message.setServerSendTime(System.currentTimeMillis());
+        return message;
+    }
+
+    /**
+     * 时钟同步消息
      */
-    public void broadcastLotteryResult(LotteryResultDTO result) {
-        messagingTemplate.convertAndSend("/topic/lottery-result", result);
+    @Data
+    public static class TimeSyncMessage {
+        private Long clientSendTime;
+        private Long serverReceiveTime;
+        private Long serverSendTime;
     }
 
     /**
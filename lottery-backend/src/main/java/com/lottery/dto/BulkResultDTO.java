@@ -0,0 +1,77 @@
+package com.lottery.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量操作结果（逐项）
+ */
+@Data
+public class BulkResultDTO {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+
+    /**
+     * 各项结果，与请求顺序一致
+     */
+    private List<Item> items = new ArrayList<>();
+
+    /**
+     * 记录一项成功
+     */
+    public void success(String key, String id, String action) {
+        items.add(new Item(key, id, true, action, null));
+        total++;
+        succeeded++;
+    }
+
+    /**
+     * 记录一项失败
+     */
+    public void failure(String key, String id, String message) {
+        items.add(new Item(key, id, false, null, message));
+        total++;
+        failed++;
+    }
+
+    /**
+     * 单项结果
+     */
+    @Data
+    public static class Item {
+
+        /**
+         * 请求中的标识（人员ID、工号或姓名）
+         */
+        private String key;
+
+        /**
+         * 人员ID
+         */
+        private String id;
+
+        private boolean success;
+
+        /**
+         * 执行的操作：CREATED / UPDATED / DELETED / MOVED / UNCHANGED
+         */
+        private String action;
+
+        /**
+         * 失败原因
+         */
+        private String message;
+
+        public Item(String key, String id, boolean success, String action, String message) {
+            this.key = key;
+            this.id = id;
+            this.success = success;
+            this.action = action;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.lottery.dto;
+
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * 抽奖选项
+ */
+@Data
+public class DrawOptions {
+
+    /**
+     * 等概率抽取
+     */
+    public static final String MODE_UNIFORM = "UNIFORM";
+
+    /**
+     * 按人员权重（券数）抽取
+     */
+    public static final String MODE_WEIGHTED = "WEIGHTED";
+
+    /**
+     * 按券抽取（树状数组，支持抽取/撤销/加券后直接继续抽）
+     */
+    public static final String MODE_TICKET = "TICKET";
+
+    /**
+     * 按部门分层抽取（每部门上限 / 按人数比例分配）
+     */
+    public static final String MODE_STRATIFIED = "STRATIFIED";
+
+    private static final Set<String> MODES = Set.of(MODE_UNIFORM, MODE_WEIGHTED, MODE_TICKET, MODE_STRATIFIED);
+
+    /**
+     * 抽奖模式，默认等概率
+     */
+    private String mode = MODE_UNIFORM;
+
+    /**
+     * 分层模式：每个部门最多中奖人数（含作弊设置），为空表示不限
+     */
+    private Integer maxPerDepartment;
+
+    /**
+     * 分层模式：是否按部门人数比例分配名额
+     */
+    private boolean proportional;
+
+    /**
+     * 默认选项
+     */
+    public static DrawOptions defaults() {
+        return new DrawOptions();
+    }
+
+    /**
+     * 由请求参数构造，未指定模式时等概率抽取，不认识的模式直接拒绝
+     */
+    public static DrawOptions of(String mode, Integer maxPerDepartment, Boolean proportional) {
+        DrawOptions options = new DrawOptions();
+        if (mode != null && !mode.isBlank()) {
+            options.setMode(checkMode(mode.trim().toUpperCase()));
+        }
+        options.setMaxPerDepartment(maxPerDepartment);
+        options.setProportional(Boolean.TRUE.equals(proportional));
+        return options;
+    }
+
+    /**
+     * 校验抽奖模式
+     */
+    public static String checkMode(String mode) {
+        if (!MODES.contains(mode)) {
+            throw new RuntimeException("不支持的抽奖模式：" + mode);
+        }
+        return mode;
+    }
+}
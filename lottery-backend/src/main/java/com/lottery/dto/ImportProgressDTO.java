@@ -0,0 +1,58 @@
+package com.lottery.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 导入进度消息（推送到 /topic/import/{jobId}）
+ */
+@Data
+public class ImportProgressDTO {
+
+    /**
+     * 进度（每批提交后）
+     */
+    public static final String PROGRESS = "PROGRESS";
+
+    /**
+     * 行错误，errors 为本批新增的错误
+     */
+    public static final String ERROR = "ERROR";
+
+    /**
+     * 任务结束（完成、失败或取消）
+     */
+    public static final String DONE = "DONE";
+
+    private String jobId;
+    private String type;
+
+    /**
+     * 任务状态
+     */
+    private String status;
+
+    private int total;
+    private int success;
+    private int failed;
+
+    /**
+     * 已提交的最后一行行号
+     */
+    private int checkpointRow;
+
+    /**
+     * 文件预估总行数（含表头，可能为0表示未知）
+     */
+    private int estimatedRows;
+
+    /**
+     * 本次运行的处理速度（行/秒）
+     */
+    private double rowsPerSecond;
+
+    private List<String> errors;
+
+    private String message;
+}
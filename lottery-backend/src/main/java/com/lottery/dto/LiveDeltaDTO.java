@@ -0,0 +1,44 @@
+package com.lottery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 现场状态增量
+ * <p>
+ * 序号连续递增；客户端发现序号不连续（漏收）时重新订阅快照。
+ */
+@Data
+@AllArgsConstructor
+public class LiveDeltaDTO {
+
+    /**
+     * 抽奖完成，data 为 result（LotteryResultDTO）和 prize（奖项最新状态）
+     */
+    public static final String DRAW = "DRAW";
+
+    /**
+     * 撤销中奖，data 为 participantId 和 prize（奖项最新状态）
+     */
+    public static final String CANCEL = "CANCEL";
+
+    /**
+     * 系统重置，客户端应重新订阅快照
+     */
+    public static final String RESET = "RESET";
+
+    /**
+     * 名单变更（短时间内的多次变更合并为一条），data 为 sources（PARTICIPANT/PRIZE）、
+     * counters（人数统计），奖项有变化时另有 prizes（奖项最新状态）
+     */
+    public static final String ROSTER = "ROSTER";
+
+    /**
+     * 推送队列已满、部分增量被丢弃，客户端应重新订阅快照
+     */
+    public static final String RESYNC = "RESYNC";
+
+    private long seq;
+    private String type;
+    private Object data;
+}
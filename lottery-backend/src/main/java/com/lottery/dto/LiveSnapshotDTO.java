@@ -0,0 +1,73 @@
+package com.lottery.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 现场状态快照（大屏订阅/重连时一次下发）
+ */
+@Data
+public class LiveSnapshotDTO {
+
+    /**
+     * 快照对应的序号，之后的增量从 seq + 1 开始
+     */
+    private long seq;
+
+    /**
+     * 当前代数
+     */
+    private long generation;
+
+    /**
+     * 下一个待抽取的奖项ID，全部抽完时为null
+     */
+    private String nextPrizeId;
+
+    /**
+     * 正在滚动中的奖项ID
+     */
+    private String drawingPrizeId;
+
+    /**
+     * 所有奖项（按等级升序）
+     */
+    private List<PrizeState> prizes;
+
+    /**
+     * 最近中奖（最新在前）
+     */
+    private List<RecentWinner> recentWinners;
+
+    /**
+     * 人数统计
+     */
+    private Counters counters;
+
+    @Data
+    public static class PrizeState {
+        private String id;
+        private String name;
+        private Integer level;
+        private Integer count;
+        private Integer drawnCount;
+        private String status;
+    }
+
+    @Data
+    public static class RecentWinner {
+        private String participantId;
+        private String name;
+        private String prizeId;
+        private String prizeName;
+        private Integer prizeLevel;
+    }
+
+    @Data
+    public static class Counters {
+        private long total;
+        private long available;
+        private long won;
+    }
+}
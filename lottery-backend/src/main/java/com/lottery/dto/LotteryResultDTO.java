@@ -36,6 +36,13 @@ public class LotteryResultDTO {
      */
     private LocalDateTime drawTime;
 
+    /**
+     * 揭晓时刻（服务器时间，毫秒时间戳）
+     * <p>
+     * 各屏幕按时钟同步得到的偏移换算成本地时间，到点同时揭晓，不受各自网络延迟影响。
+     */
+    private Long revealAt;
+
     @Data
     public static class WinnerDTO {
         private String id;
@@ -0,0 +1,99 @@
+package com.lottery.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 人员导入任务
+ * <p>
+ * 上传文件保存在本地，每批写入与检查点在同一事务中更新，
+ * 取消或中断后可从检查点之后继续导入。
+ */
+@Entity
+@Table(name = "import_jobs")
+@EntityListeners(AuditingEntityListener.class)
+@Data
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    /**
+     * 原始文件名
+     */
+    @Column(length = 255)
+    private String fileName;
+
+    /**
+     * 上传文件的本地保存路径
+     */
+    @JsonIgnore
+    @Column(nullable = false, length = 500)
+    private String filePath;
+
+    /**
+     * 状态：QUEUED-排队中, RUNNING-导入中, COMPLETED-已完成, FAILED-失败, CANCELLED-已取消,
+     * INTERRUPTED-中断（服务重启或排队已满未能开始，可继续）
+     */
+    @Column(nullable = false, length = 20)
+    private String status = "QUEUED";
+
+    /**
+     * 已处理行数
+     */
+    private Integer total = 0;
+
+    /**
+     * 成功数
+     */
+    private Integer success = 0;
+
+    /**
+     * 失败数
+     */
+    private Integer failed = 0;
+
+    /**
+     * 检查点：已提交的最后一行行号（Excel行号，表头为第1行），继续导入时从下一行开始
+     */
+    private Integer checkpointRow = 1;
+
+    /**
+     * 错误信息（换行分隔，最多保留前200条）
+     */
+    @Lob
+    private String errors;
+
+    /**
+     * 失败原因（任务级）
+     */
+    @Column(length = 500)
+    private String message;
+
+    /**
+     * 操作人
+     */
+    @Column(length = 50)
+    private String operator;
+
+    /**
+     * 创建时间
+     */
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,36 @@
+package com.lottery.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 抽奖纪元（重置代数）
+ * <p>
+ * 每次重置系统代数加一，抽奖记录和作弊设置只认当前代数的数据，旧代数数据由后台清理。
+ */
+@Entity
+@Table(name = "lottery_epoch")
+@Data
+public class LotteryEpoch {
+
+    /**
+     * 固定主键，全局只有一行
+     */
+    public static final String SINGLETON_ID = "CURRENT";
+
+    @Id
+    private String id = SINGLETON_ID;
+
+    /**
+     * 当前代数
+     */
+    @Column(nullable = false)
+    private Long generation = 0L;
+
+    /**
+     * 最近一次重置时间
+     */
+    private LocalDateTime resetTime;
+}
@@ -76,6 +76,12 @@ public class LotteryRecord {
     @Column(length = 200)
     private String remark;
 
+    /**
+     * 所属代数（重置后旧代数数据视为已清空）
+     */
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long generation = 0L;
+
     /**
      * 抽奖时间
      */
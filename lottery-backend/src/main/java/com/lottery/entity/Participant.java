@@ -39,6 +39,12 @@ public class Participant {
     @Column(length = 50)
     private String department;
 
+    /**
+     * 抽奖权重（券数），加权模式下中奖概率与之成正比
+     */
+    @Column(nullable = false, columnDefinition = "int default 1")
+    private Integer weight = 1;
+
     /**
      * 状态：AVAILABLE-可参与, WON-已中奖
      */
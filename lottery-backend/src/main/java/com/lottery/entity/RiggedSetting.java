@@ -68,6 +68,12 @@ public class RiggedSetting {
     @Column(length = 50)
     private String operator;
 
+    /**
+     * 所属代数（重置后旧代数数据视为已清空）
+     */
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long generation = 0L;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,91 @@
+package com.lottery.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 预抽结果（开始抽奖时预先算好、停止时直接提交）
+ */
+@Entity
+@Table(name = "staged_draws")
+@EntityListeners(AuditingEntityListener.class)
+@Data
+public class StagedDraw {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    /**
+     * 奖项ID
+     */
+    @Column(nullable = false)
+    private String prizeId;
+
+    /**
+     * 奖项名称（冗余）
+     */
+    @Column(nullable = false, length = 50)
+    private String prizeName;
+
+    /**
+     * 中奖人ID（按揭晓顺序，逗号分隔）
+     */
+    @Lob
+    @Column(nullable = false)
+    private String winnerIds;
+
+    /**
+     * 抽奖模式（预抽所用选项，重启恢复时沿用）
+     */
+    @Column(nullable = false, length = 20, columnDefinition = "varchar(20) default 'UNIFORM'")
+    private String drawMode = "UNIFORM";
+
+    /**
+     * 分层模式：每个部门最多中奖人数
+     */
+    private Integer maxPerDepartment;
+
+    /**
+     * 分层模式：是否按部门人数比例分配名额
+     */
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private Boolean proportional = false;
+
+    /**
+     * 状态：STAGED-待提交, COMMITTED-已提交, DISCARDED-已作废
+     */
+    @Column(nullable = false, length = 20)
+    private String status = "STAGED";
+
+    /**
+     * 所属代数
+     */
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long generation = 0L;
+
+    /**
+     * 操作人
+     */
+    @Column(length = 50)
+    private String operator;
+
+    /**
+     * 创建时间
+     */
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
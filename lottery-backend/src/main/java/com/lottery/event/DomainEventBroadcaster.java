@@ -0,0 +1,184 @@
+package com.lottery.event;
+
+import com.lottery.dto.LiveDeltaDTO;
+import com.lottery.service.LiveStateService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 领域事件广播
+ * <p>
+ * 事务提交后才推送（回滚的操作不会被广播）。推送在独立线程池中执行，不占用抽奖写线程和HTTP请求线程；
+ * 提交线程只做内存中的现场状态更新（取得增量序号）并把推送排队，排队不阻塞：
+ * 队列已满时丢弃这次推送，之后补发一条 RESYNC 增量，大屏据此（或据序号不连续）重新拉取快照。
+ * 状态更新与排队在同一把锁内，线程池为单线程，增量按序号顺序推送。
+ * <p>
+ * 名单变更（批量增删、导入）常常连续发生，排队期间的多次变更合并为一条增量。
+ */
+@Component
+@Slf4j
+public class DomainEventBroadcaster {
+
+    public static final String TOPIC_LOTTERY_RESULT = "/topic/lottery-result";
+    public static final String TOPIC_WIN_CANCELLED = "/topic/win-cancelled";
+    public static final String TOPIC_SYSTEM_RESET = "/topic/system-reset";
+    public static final String TOPIC_RIG_CHANGED = "/topic/rig-changed";
+    public static final String TOPIC_STATE = "/topic/state";
+
+    private final TopicBroadcaster topicBroadcaster;
+    private final LiveStateService liveStateService;
+    private final TaskExecutor eventExecutor;
+
+    /**
+     * 状态更新与推送排队的锁
+     */
+    private final Object lock = new Object();
+
+    /**
+     * 已排队、尚未推送的名单变更来源
+     */
+    private final Set<String> pendingRosterSources = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 是否已有名单推送在排队
+     */
+    private final AtomicBoolean rosterFlushQueued = new AtomicBoolean();
+
+    /**
+     * 是否有推送因队列已满被丢弃、尚未补发重新同步
+     */
+    private final AtomicBoolean resyncPending = new AtomicBoolean();
+
+    public DomainEventBroadcaster(TopicBroadcaster topicBroadcaster, LiveStateService liveStateService,
+                                  @Qualifier("eventExecutor") TaskExecutor eventExecutor) {
+        this.topicBroadcaster = topicBroadcaster;
+        this.liveStateService = liveStateService;
+        this.eventExecutor = eventExecutor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDrawCompleted(DrawCompletedEvent event) {
+        synchronized (lock) {
+            LiveDeltaDTO delta = liveStateService.applyDraw(event.getResult());
+            dispatch("抽奖结果", () -> {
+                topicBroadcaster.send(TOPIC_LOTTERY_RESULT, event.getResult());
+                topicBroadcaster.send(TOPIC_STATE, delta);
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWinCancelled(WinCancelledEvent event) {
+        synchronized (lock) {
+            LiveDeltaDTO delta = liveStateService.applyCancel(event);
+            dispatch("撤销中奖", () -> {
+                topicBroadcaster.send(TOPIC_WIN_CANCELLED, Map.of(
+                        "participantId", event.getParticipantId(),
+                        "participantName", event.getParticipantName(),
+                        "prizeId", event.getPrizeId(),
+                        "prizeName", event.getPrizeName()
+                ));
+                topicBroadcaster.send(TOPIC_STATE, delta);
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSystemReset(SystemResetEvent event) {
+        synchronized (lock) {
+            LiveDeltaDTO delta = liveStateService.applyReload(LiveDeltaDTO.RESET);
+            dispatch("系统重置", () -> {
+                topicBroadcaster.send(TOPIC_SYSTEM_RESET, Map.of("generation", event.getGeneration()));
+                topicBroadcaster.send(TOPIC_STATE, delta);
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRigChanged(RigChangedEvent event) {
+        dispatch("内定变更", () -> topicBroadcaster.send(TOPIC_RIG_CHANGED, Map.of(
+                "action", event.getAction(),
+                "settingId", event.getSettingId(),
+                "prizeId", event.getPrizeId()
+        )));
+    }
+
+    /**
+     * 名单变更：同一来源已有排队中的推送时不再重复排队
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRosterChanged(RosterChangedEvent event) {
+        pendingRosterSources.add(event.getSource());
+        if (rosterFlushQueued.compareAndSet(false, true) && !enqueue(this::flushRoster)) {
+            // 未能排队：来源保留，补发重新同步前再计入状态
+            rosterFlushQueued.set(false);
+            dropped("名单变更");
+        }
+    }
+
+    private void flushRoster() {
+        // 先清标记再取来源：之后到达的变更会重新排队，不会漏推
+        rosterFlushQueued.set(false);
+        Set<String> sources = new TreeSet<>();
+        for (String source : pendingRosterSources) {
+            if (pendingRosterSources.remove(source)) {
+                sources.add(source);
+            }
+        }
+        if (!sources.isEmpty()) {
+            synchronized (lock) {
+                LiveDeltaDTO delta = liveStateService.applyRoster(sources);
+                dispatch("名单变更", () -> topicBroadcaster.send(TOPIC_STATE, delta));
+            }
+        }
+    }
+
+    /**
+     * 推送排队（不阻塞），队列已满时丢弃并记下需要重新同步
+     */
+    private void dispatch(String description, Runnable send) {
+        if (!enqueue(() -> {
+            send.run();
+            resyncIfDropped();
+        })) {
+            dropped(description);
+        }
+    }
+
+    private boolean enqueue(Runnable task) {
+        try {
+            eventExecutor.execute(task);
+            return true;
+        } catch (TaskRejectedException e) {
+            return false;
+        }
+    }
+
+    private void dropped(String description) {
+        log.warn("事件推送队列已满，丢弃{}推送，稍后补发重新同步", description);
+        resyncPending.set(true);
+        // 队列仍满时无法单独排队，由队列中的推送执行完后补发
+        enqueue(this::resyncIfDropped);
+    }
+
+    /**
+     * 有推送被丢弃时补发重新同步（在推送线程中执行）
+     */
+    private void resyncIfDropped() {
+        if (resyncPending.compareAndSet(true, false)) {
+            // 未能排队的名单变更先计入状态，随快照一起同步
+            flushRoster();
+            topicBroadcaster.send(TOPIC_STATE, liveStateService.resync());
+        }
+    }
+}
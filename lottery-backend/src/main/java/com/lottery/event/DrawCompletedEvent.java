@@ -0,0 +1,15 @@
+package com.lottery.event;
+
+import com.lottery.dto.LotteryResultDTO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 抽奖完成事件（每个奖项一个）
+ */
+@Getter
+@RequiredArgsConstructor
+public class DrawCompletedEvent {
+
+    private final LotteryResultDTO result;
+}
@@ -0,0 +1,24 @@
+package com.lottery.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 作弊设置变更事件
+ * <p>
+ * 只携带奖项和设置ID，不含人员信息，订阅方收到后自行刷新列表。
+ */
+@Getter
+@RequiredArgsConstructor
+public class RigChangedEvent {
+
+    public static final String CREATED = "CREATED";
+    public static final String DELETED = "DELETED";
+
+    /**
+     * 变更类型：CREATED、DELETED
+     */
+    private final String action;
+    private final String settingId;
+    private final String prizeId;
+}
@@ -0,0 +1,20 @@
+package com.lottery.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 人员或奖项名单变更事件（增删改、导入）
+ */
+@Getter
+@RequiredArgsConstructor
+public class RosterChangedEvent {
+
+    public static final String PARTICIPANT = "PARTICIPANT";
+    public static final String PRIZE = "PRIZE";
+
+    /**
+     * 变更来源：PARTICIPANT、PRIZE
+     */
+    private final String source;
+}
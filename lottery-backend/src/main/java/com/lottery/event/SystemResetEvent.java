@@ -0,0 +1,17 @@
+package com.lottery.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 系统重置事件
+ */
+@Getter
+@RequiredArgsConstructor
+public class SystemResetEvent {
+
+    /**
+     * 重置后的代数
+     */
+    private final long generation;
+}
@@ -0,0 +1,61 @@
+package com.lottery.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * 主题广播
+ * <p>
+ * 统一主题推送入口：对象负载用应用的 ObjectMapper 编码为JSON（与HTTP接口的日期等格式一致），
+ * 滚动帧等已编码好的文本原样发送；推送失败只记录日志，不影响调用方。
+ * <p>
+ * 简单消息代理本来就对每条消息只转换一次、各订阅会话共用同一个 Message，
+ * 这里不带来扇出性能上的差别。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TopicBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 编码为JSON并广播到指定主题，失败只记录日志
+     */
+    public void send(String destination, Object payload) {
+        try {
+            send(destination, objectMapper.writeValueAsBytes(payload), MimeTypeUtils.APPLICATION_JSON);
+        } catch (Exception e) {
+            log.warn("广播失败：{}，{}", destination, e.getMessage());
+        }
+    }
+
+    /**
+     * 广播已编码好的文本负载（如滚动帧），失败只记录日志
+     */
+    public void sendRaw(String destination, byte[] body) {
+        try {
+            send(destination, body, MimeTypeUtils.TEXT_PLAIN);
+        } catch (Exception e) {
+            log.warn("广播失败：{}，{}", destination, e.getMessage());
+        }
+    }
+
+    private void send(String destination, byte[] body, MimeType contentType) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(contentType);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+        messagingTemplate.send(destination, message);
+    }
+}
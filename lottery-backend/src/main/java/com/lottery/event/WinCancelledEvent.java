@@ -0,0 +1,18 @@
+package com.lottery.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 撤销中奖事件
+ */
+@Getter
+@RequiredArgsConstructor
+public class WinCancelledEvent {
+
+    private final String participantId;
+    private final String participantName;
+    private final String prizeId;
+    private final String prizeName;
+    private final String operator;
+}
@@ -0,0 +1,41 @@
+package com.lottery.repository;
+
+import com.lottery.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 导入任务Repository
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    /**
+     * 最近的导入任务
+     */
+    List<ImportJob> findTop20ByOrderByCreatedAtDesc();
+
+    /**
+     * 服务重启时把未结束的任务标记为中断
+     */
+    @Modifying
+    @Query("update ImportJob j set j.status = 'INTERRUPTED', j.updatedAt = :now "
+            + "where j.status in ('QUEUED', 'RUNNING')")
+    int markInterrupted(@Param("now") LocalDateTime now);
+
+    /**
+     * 状态为 from 时改为 to（排队中的任务开始执行与取消之间不会互相覆盖）
+     *
+     * @return 更新的行数，0 表示状态已不是 from
+     */
+    @Modifying
+    @Query("update ImportJob j set j.status = :to, j.updatedAt = :now where j.id = :id and j.status = :from")
+    int transition(@Param("id") String id, @Param("from") String from, @Param("to") String to,
+                   @Param("now") LocalDateTime now);
+}
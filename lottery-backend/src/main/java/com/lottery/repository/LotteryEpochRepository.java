@@ -0,0 +1,12 @@
+package com.lottery.repository;
+
+import com.lottery.entity.LotteryEpoch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 抽奖纪元Repository
+ */
+@Repository
+public interface LotteryEpochRepository extends JpaRepository<LotteryEpoch, String> {
+}
@@ -1,56 +1,91 @@
 package com.lottery.repository;
 
 import com.lottery.entity.LotteryRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 抽奖记录Repository
+ * <p>
+ * 查询都带代数条件，只返回当前代数（最近一次重置之后）的记录。
  */
 @Repository
 public interface LotteryRecordRepository extends JpaRepository<LotteryRecord, String> {
 
+    /**
+     * 查询某代数的所有记录
+     */
+    List<LotteryRecord> findByGeneration(Long generation);
+
     /**
      * 根据奖项ID查询记录
      */
-    List<LotteryRecord> findByPrizeId(String prizeId);
+    List<LotteryRecord> findByGenerationAndPrizeId(Long generation, String prizeId);
 
     /**
      * 根据参与人ID查询记录
      */
-    List<LotteryRecord> findByParticipantId(String participantId);
+    List<LotteryRecord> findByGenerationAndParticipantId(Long generation, String participantId);
 
     /**
      * 根据奖项ID和撤销状态查询
      */
-    List<LotteryRecord> findByPrizeIdAndIsCancelled(String prizeId, Boolean isCancelled);
+    List<LotteryRecord> findByGenerationAndPrizeIdAndIsCancelled(
+            Long generation, String prizeId, Boolean isCancelled);
 
     /**
      * 根据参与人ID和撤销状态查询
      */
-    List<LotteryRecord> findByParticipantIdAndIsCancelled(String participantId, Boolean isCancelled);
+    List<LotteryRecord> findByGenerationAndParticipantIdAndIsCancelled(
+            Long generation, String participantId, Boolean isCancelled);
 
     /**
      * 查询参与人最新的中奖记录
      */
-    Optional<LotteryRecord> findFirstByParticipantIdAndIsCancelledOrderByDrawTimeDesc(
-            String participantId, Boolean isCancelled);
+    Optional<LotteryRecord> findFirstByGenerationAndParticipantIdAndIsCancelledOrderByDrawTimeDesc(
+            Long generation, String participantId, Boolean isCancelled);
 
     /**
      * 查询所有有效记录（未撤销）
      */
-    List<LotteryRecord> findByIsCancelled(Boolean isCancelled);
+    List<LotteryRecord> findByGenerationAndIsCancelled(Long generation, Boolean isCancelled);
 
     /**
      * 根据撤销状态查询并按抽奖时间倒序排列
      */
-    List<LotteryRecord> findByIsCancelledOrderByDrawTimeDesc(Boolean isCancelled);
+    List<LotteryRecord> findByGenerationAndIsCancelledOrderByDrawTimeDesc(Long generation, Boolean isCancelled);
+
+    /**
+     * 最近的有效中奖记录
+     */
+    List<LotteryRecord> findTop50ByGenerationAndIsCancelledOrderByDrawTimeDesc(Long generation, Boolean isCancelled);
 
     /**
      * 按抽奖时间倒序查询
      */
-    List<LotteryRecord> findAllByOrderByDrawTimeDesc();
+    List<LotteryRecord> findByGenerationOrderByDrawTimeDesc(Long generation);
+
+    /**
+     * 按抽奖时间流式读取某代数的所有记录（导出用，需在事务中消费并关闭）
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select r from LotteryRecord r where r.generation = :generation order by r.drawTime")
+    Stream<LotteryRecord> streamByGeneration(@Param("generation") Long generation);
+
+    /**
+     * 删除旧代数的记录
+     */
+    @Modifying
+    @Query("delete from LotteryRecord r where r.generation < :generation")
+    int deleteStaleGenerations(@Param("generation") Long generation);
 }
@@ -1,11 +1,20 @@
 package com.lottery.repository;
 
 import com.lottery.entity.Participant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 参与人员Repository
@@ -28,13 +37,82 @@ public interface ParticipantRepository extends JpaRepository<Participant, String
      */
     boolean existsByName(String name);
 
+    /**
+     * 按姓名批量查询
+     */
+    List<Participant> findByNameIn(Collection<String> names);
+
+    /**
+     * 按工号批量查询
+     */
+    List<Participant> findByEmployeeIdIn(Collection<String> employeeIds);
+
+    /**
+     * 所有人员姓名（导入时一次性加载用于去重）
+     */
+    @Query("SELECT p.name FROM Participant p")
+    List<String> findAllNames();
+
     /**
      * 根据奖项ID查询中奖人员
      */
     List<Participant> findByWonPrizeId(String wonPrizeId);
 
+    /**
+     * 流式读取所有人员（导出用，需在事务中消费并关闭）
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select p from Participant p order by p.createdAt")
+    Stream<Participant> streamAll();
+
+    /**
+     * 按奖项等级、中奖时间流式读取中奖人员，prizeId 为空时读取全部（导出用）
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select p from Participant p, Prize z where z.id = p.wonPrizeId and p.status = 'WON' " +
+            "and (:prizeId is null or p.wonPrizeId = :prizeId) order by z.level, p.wonTime")
+    Stream<Participant> streamWinners(@Param("prizeId") String prizeId);
+
     /**
      * 统计各状态人数
      */
     long countByStatus(String status);
+
+    /**
+     * 批量标记中奖（仅更新仍为 AVAILABLE 的人员）
+     *
+     * @return 实际更新的行数
+     */
+    @Modifying
+    @Query("update Participant p set p.status = 'WON', p.wonPrizeId = :prizeId, p.wonPrizeName = :prizeName, " +
+            "p.wonTime = :wonTime, p.updatedAt = :wonTime where p.id in :ids and p.status = 'AVAILABLE'")
+    int markWon(@Param("ids") Collection<String> ids, @Param("prizeId") String prizeId,
+                @Param("prizeName") String prizeName, @Param("wonTime") LocalDateTime wonTime);
+
+    /**
+     * 批量删除未中奖人员
+     *
+     * @return 实际删除的行数
+     */
+    @Modifying
+    @Query("delete from Participant p where p.id in :ids and p.status = 'AVAILABLE'")
+    int deleteAvailable(@Param("ids") Collection<String> ids);
+
+    /**
+     * 批量调整部门（执行后清空持久化上下文，之前加载的实体变为游离状态）
+     *
+     * @return 实际更新的行数
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Participant p set p.department = :department, p.updatedAt = :now where p.id in :ids")
+    int updateDepartment(@Param("ids") Collection<String> ids, @Param("department") String department,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * 重置所有已中奖人员
+     */
+    @Modifying
+    @Query("update Participant p set p.status = 'AVAILABLE', p.wonPrizeId = null, p.wonPrizeName = null, " +
+            "p.wonTime = null, p.updatedAt = :now where p.status <> 'AVAILABLE'")
+    int resetAll(@Param("now") LocalDateTime now);
 }
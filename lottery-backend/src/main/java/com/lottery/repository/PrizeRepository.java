@@ -2,8 +2,12 @@ package com.lottery.repository;
 
 import com.lottery.entity.Prize;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,4 +41,11 @@ public interface PrizeRepository extends JpaRepository<Prize, String> {
      * 统计各状态奖项数量
      */
     long countByStatus(String status);
+
+    /**
+     * 重置所有奖项
+     */
+    @Modifying
+    @Query("update Prize p set p.status = 'PENDING', p.drawnCount = 0, p.drawTime = null, p.updatedAt = :now")
+    int resetAll(@Param("now") LocalDateTime now);
 }
@@ -2,35 +2,62 @@ package com.lottery.repository;
 
 import com.lottery.entity.RiggedSetting;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * 作弊设置Repository
+ * <p>
+ * 查询都带代数条件，只返回当前代数（最近一次重置之后）的设置。
  */
 @Repository
 public interface RiggedSettingRepository extends JpaRepository<RiggedSetting, String> {
 
+    /**
+     * 查询某代数的所有设置
+     */
+    List<RiggedSetting> findByGeneration(Long generation);
+
     /**
      * 根据奖项ID和状态查询
      */
-    List<RiggedSetting> findByPrizeIdAndStatus(String prizeId, String status);
+    List<RiggedSetting> findByGenerationAndPrizeIdAndStatus(Long generation, String prizeId, String status);
 
     /**
      * 根据参与人ID和状态查询
      */
-    List<RiggedSetting> findByParticipantIdAndStatus(String participantId, String status);
+    List<RiggedSetting> findByGenerationAndParticipantIdAndStatus(
+            Long generation, String participantId, String status);
 
     /**
      * 检查是否存在待生效的设置
      */
-    boolean existsByParticipantIdAndPrizeIdAndStatus(
-            String participantId, String prizeId, String status);
+    boolean existsByGenerationAndParticipantIdAndPrizeIdAndStatus(
+            Long generation, String participantId, String prizeId, String status);
 
     /**
      * 查询所有待生效的设置
      */
-    List<RiggedSetting> findByStatus(String status);
+    List<RiggedSetting> findByGenerationAndStatus(Long generation, String status);
+
+    /**
+     * 批量标记为已生效
+     */
+    @Modifying
+    @Query("update RiggedSetting r set r.status = 'USED', r.usedTime = :usedTime, r.updatedAt = :usedTime " +
+            "where r.id in :ids")
+    int markUsed(@Param("ids") Collection<String> ids, @Param("usedTime") LocalDateTime usedTime);
+
+    /**
+     * 删除旧代数的设置
+     */
+    @Modifying
+    @Query("delete from RiggedSetting r where r.generation < :generation")
+    int deleteStaleGenerations(@Param("generation") Long generation);
 }
@@ -0,0 +1,37 @@
+package com.lottery.repository;
+
+import com.lottery.entity.StagedDraw;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 预抽结果Repository
+ */
+@Repository
+public interface StagedDrawRepository extends JpaRepository<StagedDraw, String> {
+
+    /**
+     * 根据代数和状态查询
+     */
+    List<StagedDraw> findByGenerationAndStatus(Long generation, String status);
+
+    /**
+     * 更新状态
+     */
+    @Modifying
+    @Query("update StagedDraw s set s.status = :status, s.updatedAt = :now where s.id = :id")
+    int updateStatus(@Param("id") String id, @Param("status") String status, @Param("now") LocalDateTime now);
+
+    /**
+     * 作废所有待提交的预抽结果
+     */
+    @Modifying
+    @Query("update StagedDraw s set s.status = 'DISCARDED', s.updatedAt = :now where s.status = 'STAGED'")
+    int discardAll(@Param("now") LocalDateTime now);
+}
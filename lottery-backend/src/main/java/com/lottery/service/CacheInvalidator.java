@@ -0,0 +1,97 @@
+package com.lottery.service;
+
+import com.lottery.config.CacheNames;
+import com.lottery.event.DrawCompletedEvent;
+import com.lottery.event.RosterChangedEvent;
+import com.lottery.event.SystemResetEvent;
+import com.lottery.event.WinCancelledEvent;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 缓存失效与统计
+ * <p>
+ * 奖项缓存在抽奖、撤销、重置及人员/奖项增删改的事务提交后统一失效
+ * （回滚的操作不会清缓存，提交前也不会有其他线程读到并缓存旧数据后残留）。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDrawCompleted(DrawCompletedEvent event) {
+        evictDrawState();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWinCancelled(WinCancelledEvent event) {
+        evictDrawState();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSystemReset(SystemResetEvent event) {
+        evictDrawState();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRosterChanged(RosterChangedEvent event) {
+        evictDrawState();
+    }
+
+    /**
+     * 清空抽奖相关缓存
+     */
+    public void evictDrawState() {
+        for (String name : CacheNames.DRAW_STATE) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * 各缓存命中统计
+     */
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache()
+                    instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                com.github.benmanes.caffeine.cache.stats.CacheStats source = nativeCache.stats();
+                CacheStats item = new CacheStats();
+                item.setSize(nativeCache.estimatedSize());
+                item.setHits(source.hitCount());
+                item.setMisses(source.missCount());
+                item.setHitRate(source.hitRate());
+                item.setEvictions(source.evictionCount());
+                stats.put(name, item);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 缓存统计
+     */
+    @Data
+    public static class CacheStats {
+        private long size;
+        private long hits;
+        private long misses;
+        private double hitRate;
+        private long evictions;
+    }
+}
@@ -0,0 +1,386 @@
+package com.lottery.service;
+
+import com.lottery.algorithm.AliasTable;
+import com.lottery.algorithm.DrawAlgorithm;
+import com.lottery.algorithm.DrawRandom;
+import com.lottery.algorithm.FenwickTree;
+import com.lottery.algorithm.StratifiedAllocator;
+import com.lottery.entity.Participant;
+import com.lottery.repository.ParticipantRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 候选人池（常驻内存）
+ * <p>
+ * 启动时从数据库加载一次所有 AVAILABLE 人员，之后由抽奖、撤销、重置及人员增删改维护，
+ * 抽奖时不再查询数据库。
+ * <p>
+ * 人员按下标紧凑存放在数组中，另用 id → 下标 的索引定位；删除时用末尾元素填补空位，
+ * 因此按 id 删除、重新加入都是 O(1)。
+ * <p>
+ * 同时用树状数组按下标维护每人的券数，按券抽奖时抽取、删除、放回、加券都是 O(log n)。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CandidatePool {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ParticipantRepository participantRepository;
+
+    /**
+     * 紧凑存放的候选人，[0, size) 有效
+     */
+    private Participant[] slots = new Participant[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * 人员ID → 下标
+     */
+    private final Map<String, Integer> indexById = new HashMap<>();
+
+    /**
+     * 下标 → 券数，与 slots 同步
+     */
+    private FenwickTree tickets = new FenwickTree(INITIAL_CAPACITY);
+
+    /**
+     * 启动时加载候选人
+     */
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * 从数据库重新加载所有可用人员
+     */
+    public synchronized void reload() {
+        List<Participant> available = participantRepository.findByStatus("AVAILABLE");
+        slots = new Participant[Math.max(INITIAL_CAPACITY, available.size() * 2)];
+        tickets = new FenwickTree(slots.length);
+        size = 0;
+        indexById.clear();
+        for (Participant participant : available) {
+            append(participant);
+        }
+        log.info("候选人池已加载，共{}人", size);
+    }
+
+    /**
+     * 当前候选人数
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 是否在候选池中
+     */
+    public synchronized boolean contains(String participantId) {
+        return indexById.containsKey(participantId);
+    }
+
+    /**
+     * 按ID查找候选人，不存在时返回null
+     */
+    public synchronized Participant find(String participantId) {
+        Integer index = indexById.get(participantId);
+        return index != null ? slots[index] : null;
+    }
+
+    /**
+     * 加入候选池（已存在则替换为最新数据），非 AVAILABLE 状态的人员会被忽略
+     */
+    public synchronized void add(Participant participant) {
+        if (!"AVAILABLE".equals(participant.getStatus())) {
+            return;
+        }
+        Integer index = indexById.get(participant.getId());
+        if (index != null) {
+            slots[index] = participant;
+            tickets.set(index, weightOf(participant));
+            return;
+        }
+        append(participant);
+    }
+
+    /**
+     * 批量加入候选池
+     */
+    public synchronized void addAll(Collection<Participant> participants) {
+        for (Participant participant : participants) {
+            add(participant);
+        }
+    }
+
+    /**
+     * 更新候选人数据（仅当其在池中时）
+     */
+    public synchronized void update(Participant participant) {
+        Integer index = indexById.get(participant.getId());
+        if (index != null) {
+            slots[index] = participant;
+            tickets.set(index, weightOf(participant));
+        }
+    }
+
+    /**
+     * 移出候选池
+     *
+     * @return 被移出的人员，不在池中时返回null
+     */
+    public synchronized Participant remove(String participantId) {
+        Integer index = indexById.remove(participantId);
+        if (index == null) {
+            return null;
+        }
+        Participant removed = slots[index];
+        int last = --size;
+        if (index != last) {
+            Participant moved = slots[last];
+            slots[index] = moved;
+            indexById.put(moved.getId(), index);
+            tickets.set(index, tickets.get(last));
+        }
+        slots[last] = null;
+        tickets.set(last, 0);
+        return removed;
+    }
+
+    /**
+     * 批量移出候选池
+     */
+    public synchronized void removeAll(Collection<String> participantIds) {
+        for (String participantId : participantIds) {
+            remove(participantId);
+        }
+    }
+
+    /**
+     * 随机抽取并移出候选池
+     *
+     * @param count 抽取人数
+     * @param algorithm 采样算法
+     * @return 中奖人员（按揭晓顺序）
+     */
+    public synchronized List<Participant> take(int count, DrawAlgorithm algorithm) {
+        int[] picked = algorithm.sample(size, count, DrawRandom.current());
+        List<Participant> taken = new ArrayList<>(picked.length);
+        for (int index : picked) {
+            taken.add(slots[index]);
+        }
+        // 先按下标取出再删除，删除会移动末尾元素
+        for (Participant participant : taken) {
+            remove(participant.getId());
+        }
+        return taken;
+    }
+
+    /**
+     * 按权重（券数）随机抽取并移出候选池
+     * <p>
+     * 每轮抽奖构建一次别名表，之后每次采样 O(1)；抽到已选中的人则重抽，
+     * 重抽过多时（剩余权重集中在已选人员上）把已选人员权重置零后重建一次。
+     *
+     * @param count 抽取人数
+     * @return 中奖人员（按揭晓顺序）
+     */
+    public synchronized List<Participant> takeWeighted(int count) {
+        if (count > size) {
+            throw new IllegalArgumentException("抽取数量超出候选范围：" + count + "/" + size);
+        }
+        SplittableRandom random = DrawRandom.current();
+        double[] weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            weights[i] = weightOf(slots[i]);
+        }
+
+        BitSet chosen = new BitSet(size);
+        List<Participant> taken = new ArrayList<>(count);
+        AliasTable table = new AliasTable(weights);
+        int misses = 0;
+        while (taken.size() < count) {
+            int index = table.sample(random);
+            if (!chosen.get(index)) {
+                chosen.set(index);
+                taken.add(slots[index]);
+                weights[index] = 0;
+                continue;
+            }
+            if (++misses > 4 * count + 16) {
+                table = new AliasTable(weights);
+                misses = 0;
+            }
+        }
+
+        for (Participant participant : taken) {
+            remove(participant.getId());
+        }
+        return taken;
+    }
+
+    /**
+     * 按券随机抽取并移出候选池
+     * <p>
+     * 每次在 [0, 总券数) 中取一张券，用树状数组定位持券人并移出，O(k·log n)，
+     * 抽中的人券数随之清零，不需要重建任何表。
+     *
+     * @param count 抽取人数
+     * @return 中奖人员（按揭晓顺序）
+     */
+    public synchronized List<Participant> takeByTickets(int count) {
+        if (count > size) {
+            throw new IllegalArgumentException("抽取数量超出候选范围：" + count + "/" + size);
+        }
+        SplittableRandom random = DrawRandom.current();
+        List<Participant> taken = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = tickets.find(random.nextLong(tickets.total()));
+            Participant winner = slots[index];
+            taken.add(winner);
+            remove(winner.getId());
+        }
+        return taken;
+    }
+
+    /**
+     * 按部门分层随机抽取并移出候选池
+     * <p>
+     * 遍历一次候选人按部门分桶（桶内只存下标），一次性算出各部门名额，再在各桶内抽样，
+     * 不会因为某部门超额而反复重抽。
+     *
+     * @param count 抽取人数
+     * @param maxPerDepartment 每个部门最多中奖人数（含已占名额），null 表示不限
+     * @param proportional 是否按部门人数比例分配名额
+     * @param occupied 各部门已占名额（如作弊设置已抽中的人）
+     * @param algorithm 桶内采样算法
+     * @return 中奖人员（按揭晓顺序）
+     */
+    public synchronized List<Participant> takeStratified(int count, Integer maxPerDepartment, boolean proportional,
+                                                         Map<String, Integer> occupied, DrawAlgorithm algorithm) {
+        SplittableRandom random = DrawRandom.current();
+
+        // 1. 分桶：每个下标所属的部门桶
+        Map<String, Integer> bucketByDepartment = new HashMap<>();
+        List<String> departments = new ArrayList<>();
+        int[] bucketOfSlot = new int[size];
+        int[] bucketSizes = new int[8];
+        for (int i = 0; i < size; i++) {
+            String department = departmentOf(slots[i]);
+            Integer bucket = bucketByDepartment.get(department);
+            if (bucket == null) {
+                bucket = departments.size();
+                bucketByDepartment.put(department, bucket);
+                departments.add(department);
+                if (bucket == bucketSizes.length) {
+                    bucketSizes = Arrays.copyOf(bucketSizes, bucketSizes.length * 2);
+                }
+            }
+            bucketOfSlot[i] = bucket;
+            bucketSizes[bucket]++;
+        }
+        int buckets = departments.size();
+        bucketSizes = Arrays.copyOf(bucketSizes, buckets);
+
+        // 2. 按桶排列下标（计数排序）
+        int[] offsets = new int[buckets + 1];
+        for (int b = 0; b < buckets; b++) {
+            offsets[b + 1] = offsets[b] + bucketSizes[b];
+        }
+        int[] grouped = new int[size];
+        int[] cursor = Arrays.copyOf(offsets, buckets);
+        for (int i = 0; i < size; i++) {
+            grouped[cursor[bucketOfSlot[i]]++] = i;
+        }
+
+        // 3. 计算各部门名额
+        int[] capacities = new int[buckets];
+        for (int b = 0; b < buckets; b++) {
+            int used = occupied.getOrDefault(departments.get(b), 0);
+            capacities[b] = maxPerDepartment == null
+                    ? bucketSizes[b]
+                    : Math.max(0, maxPerDepartment - used);
+        }
+        int[] quotas;
+        try {
+            quotas = StratifiedAllocator.allocate(bucketSizes, capacities, count, proportional, random);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("部门名额限制过严，可抽人数不足");
+        }
+
+        // 4. 桶内抽样
+        List<Participant> taken = new ArrayList<>(count);
+        for (int b = 0; b < buckets; b++) {
+            if (quotas[b] == 0) {
+                continue;
+            }
+            int[] picked = algorithm.sample(bucketSizes[b], quotas[b], random);
+            for (int offset : picked) {
+                taken.add(slots[grouped[offsets[b] + offset]]);
+            }
+        }
+
+        // 5. 打乱揭晓顺序并移出候选池
+        for (int i = taken.size() - 1; i > 0; i--) {
+            Collections.swap(taken, i, random.nextInt(i + 1));
+        }
+        for (Participant participant : taken) {
+            remove(participant.getId());
+        }
+        return taken;
+    }
+
+    /**
+     * 部门分组键，未填写部门的归为同一组
+     */
+    public static String departmentOf(Participant participant) {
+        String department = participant.getDepartment();
+        return department == null || department.isBlank() ? "" : department.trim();
+    }
+
+    /**
+     * 当前候选池总券数
+     */
+    public synchronized long totalTickets() {
+        return tickets.total();
+    }
+
+    /**
+     * 当前候选人快照
+     */
+    public synchronized List<Participant> snapshot() {
+        return new ArrayList<>(Arrays.asList(slots).subList(0, size));
+    }
+
+    private static int weightOf(Participant participant) {
+        Integer weight = participant.getWeight();
+        return weight == null || weight < 1 ? 1 : weight;
+    }
+
+    private void append(Participant participant) {
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+            tickets.grow(slots.length);
+        }
+        slots[size] = participant;
+        indexById.put(participant.getId(), size);
+        tickets.set(size, weightOf(participant));
+        size++;
+    }
+}
@@ -0,0 +1,455 @@
+package com.lottery.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * CSV/TSV 人员导入
+ * <p>
+ * 文件按块（截到换行）用定位读取读入堆内存，在专用线程池（csvParseExecutor）中并行解析，再按块顺序交给
+ * {@link ImportBatcher} 校验去重和批量写入（行号、去重结果与顺序读取一致）。每块大小和同时解析的块数都有上限，
+ * 内存不随文件大小增长。不用内存映射：映射在GC回收前无法释放，Windows下导入完成后删除上传文件会失败。
+ * <p>
+ * 列顺序与导入模板一致：姓名、工号、部门、券数，首行为表头，其余列忽略。
+ * 分隔符按表头自动识别（制表符或逗号）；编码按 BOM 和前 64KB 是否为合法 UTF-8 识别，否则按 GBK。
+ * GBK、UTF-8 多字节字符的各字节都不会与逗号、制表符、引号、换行冲突，因此直接在字节上切分，
+ * 只对需要的字段解码一次（复用解码缓冲区），券数直接从字节解析。
+ * 支持双引号包围的字段（"" 转义），不支持字段内换行。
+ */
+@Component
+@Slf4j
+public class CsvImporter {
+
+    private static final Charset GBK = Charset.forName("GBK");
+
+    /**
+     * 编码识别采样长度
+     */
+    private static final int DETECT_SAMPLE = 64 * 1024;
+
+    /**
+     * 每块最小、最大字节数（一行超过最大值时该块按需加长）
+     */
+    private static final int MIN_CHUNK = 1 << 20;
+    private static final int MAX_CHUNK = 4 << 20;
+
+    /**
+     * 解析线程池（线程数和队列都有上限，见 AsyncConfig）
+     */
+    private final ThreadPoolTaskExecutor parseExecutor;
+
+    public CsvImporter(@Qualifier("csvParseExecutor") ThreadPoolTaskExecutor parseExecutor) {
+        this.parseExecutor = parseExecutor;
+    }
+
+    /**
+     * 是否按 CSV 导入
+     */
+    public static boolean supports(String path) {
+        String lower = path.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".csv") || lower.endsWith(".tsv") || lower.endsWith(".txt");
+    }
+
+    /**
+     * 读取文件并交给批次累积器，请求取消时提前停止
+     */
+    public void read(Path path, ImportBatcher batcher) throws IOException {
+        scan(path, new RowHandler() {
+            @Override
+            public void estimated(int rows) {
+                batcher.setEstimatedRows(rows);
+            }
+
+            @Override
+            public boolean row(int rowNum, Row row) {
+                if (batcher.isCommitted(rowNum)) {
+                    return true;
+                }
+                if (batcher.cancelRequested()) {
+                    return false;
+                }
+                if (row.error != null) {
+                    batcher.reject(rowNum, row.error);
+                } else {
+                    batcher.add(rowNum, row.name, row.employeeId, row.department, row.weight);
+                }
+                return true;
+            }
+        });
+        if (!batcher.isCancelled()) {
+            batcher.flush();
+        }
+    }
+
+    /**
+     * 解析文件，按行号顺序回调（行号与Excel一致：表头为第1行）
+     */
+    void scan(Path path, RowHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer head = read(channel, 0, (int) Math.min(size, DETECT_SAMPLE));
+            int headSize = head.limit();
+
+            int start = hasUtf8Bom(head, headSize) ? 3 : 0;
+            Charset charset = start == 3 || isUtf8(head, start, headSize) ? StandardCharsets.UTF_8 : GBK;
+            int headerEnd = lineEnd(head, start, headSize);
+            byte delimiter = indexOf(head, start, headerEnd, (byte) '\t') >= 0 ? (byte) '\t' : (byte) ',';
+            long bodyStart = Math.min(size, headerEnd + 1L);
+
+            int threads = parseExecutor.getMaxPoolSize();
+            int chunkSize = (int) Math.min(MAX_CHUNK, Math.max(MIN_CHUNK, (size - bodyStart) / (threads * 4) + 1));
+            log.info("CSV导入：{}字节，编码{}，分隔符{}，解析线程池{}线程（各导入任务共用）", size, charset,
+                    delimiter == '\t' ? "TAB" : "逗号", threads);
+
+            // 按块读取并提交解析任务，最多 threads*2 块同时在内存中，按顺序消费
+            Deque<CompletableFuture<Chunk>> pending = new ArrayDeque<>();
+            long next = bodyStart;
+            int rowNum = 2;
+            boolean estimated = false;
+            while (next < size || !pending.isEmpty()) {
+                while (next < size && pending.size() < threads * 2) {
+                    ByteBuffer buffer = readChunk(channel, next, chunkSize, size);
+                    int length = buffer.limit();
+                    pending.add(CompletableFuture.supplyAsync(
+                            () -> new ChunkParser(buffer, charset, delimiter).parse(0, length), parseExecutor));
+                    next += length;
+                }
+
+                Chunk chunk = pending.poll().join();
+                if (!estimated && chunk.bytes > 0) {
+                    handler.estimated((int) (1 + chunk.lines * (size - bodyStart) / chunk.bytes));
+                    estimated = true;
+                }
+                for (Row row : chunk.rows) {
+                    if (!handler.row(rowNum + row.line, row)) {
+                        pending.forEach(future -> future.cancel(false));
+                        return;
+                    }
+                }
+                rowNum += chunk.lines;
+            }
+        }
+    }
+
+    /**
+     * 从 position 起读取一块，截到最后一个换行（含）；到文件末尾则不截。块内没有换行时加长重读
+     */
+    private static ByteBuffer readChunk(FileChannel channel, long position, int chunkSize, long size)
+            throws IOException {
+        int length = (int) Math.min(chunkSize, size - position);
+        while (true) {
+            ByteBuffer buffer = read(channel, position, length);
+            if (position + buffer.limit() >= size) {
+                return buffer;
+            }
+            for (int i = buffer.limit() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    buffer.limit(i + 1);
+                    return buffer;
+                }
+            }
+            length = (int) Math.min(length * 2L, size - position);
+        }
+    }
+
+    /**
+     * 定位读取（不改变通道位置），读到文件末尾为止
+     */
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static boolean hasUtf8Bom(ByteBuffer buffer, int size) {
+        return size >= 3 && (buffer.get(0) & 0xFF) == 0xEF
+                && (buffer.get(1) & 0xFF) == 0xBB && (buffer.get(2) & 0xFF) == 0xBF;
+    }
+
+    /**
+     * 采样判断是否为合法 UTF-8（纯ASCII也视为UTF-8）
+     */
+    private static boolean isUtf8(ByteBuffer buffer, int start, int size) {
+        ByteBuffer sample = buffer.duplicate();
+        sample.position(start).limit(Math.min(size, start + DETECT_SAMPLE));
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CharBuffer out = CharBuffer.allocate(1024);
+        while (true) {
+            CoderResult result = decoder.decode(sample, out, false);
+            if (result.isError()) {
+                return false;
+            }
+            if (result.isUnderflow()) {
+                // 采样末尾被截断的多字节字符不算错误
+                return true;
+            }
+            out.clear();
+        }
+    }
+
+    /**
+     * 从 from 开始的行结束位置（换行符下标，无换行时为 size）
+     */
+    private static int lineEnd(ByteBuffer buffer, int from, int size) {
+        int index = indexOf(buffer, from, size, (byte) '\n');
+        return index >= 0 ? index : size;
+    }
+
+    private static int indexOf(ByteBuffer buffer, int from, int to, byte target) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 行回调
+     */
+    interface RowHandler {
+
+        /**
+         * 预估总行数（含表头）
+         */
+        void estimated(int rows);
+
+        /**
+         * 处理一行，返回false时停止读取
+         */
+        boolean row(int rowNum, Row row);
+    }
+
+    /**
+     * 解析出的一行
+     */
+    static final class Row {
+        /**
+         * 块内行偏移（空行也计入）
+         */
+        final int line;
+        final String name;
+        final String employeeId;
+        final String department;
+        final Integer weight;
+
+        /**
+         * 格式错误，合格时为null
+         */
+        final String error;
+
+        Row(int line, String name, String employeeId, String department, Integer weight, String error) {
+            this.line = line;
+            this.name = name;
+            this.employeeId = employeeId;
+            this.department = department;
+            this.weight = weight;
+            this.error = error;
+        }
+    }
+
+    /**
+     * 一块的解析结果
+     */
+    private static final class Chunk {
+        final List<Row> rows;
+        final int lines;
+        final int bytes;
+
+        Chunk(List<Row> rows, int lines, int bytes) {
+            this.rows = rows;
+            this.lines = lines;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * 块解析器（每个任务一个实例，解码器和缓冲区在块内复用）
+     */
+    private static final class ChunkParser {
+
+        private static final int COLUMNS = 4;
+
+        private final ByteBuffer view;
+        private final CharsetDecoder decoder;
+        private final byte delimiter;
+        private CharBuffer chars = CharBuffer.allocate(256);
+
+        /**
+         * 当前行各列的 [起, 止) 字节位置
+         */
+        private final int[] starts = new int[COLUMNS];
+        private final int[] ends = new int[COLUMNS];
+
+        ChunkParser(ByteBuffer buffer, Charset charset, byte delimiter) {
+            this.view = buffer.duplicate();
+            this.decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.delimiter = delimiter;
+        }
+
+        Chunk parse(int from, int to) {
+            List<Row> rows = new ArrayList<>();
+            int lines = 0;
+            int position = from;
+            while (position < to) {
+                int end = lineEnd(view, position, to);
+                int lineTo = end > position && view.get(end - 1) == '\r' ? end - 1 : end;
+                if (lineTo > position) {
+                    Row row = parseLine(lines, position, lineTo);
+                    if (row != null) {
+                        rows.add(row);
+                    }
+                }
+                lines++;
+                position = end + 1;
+            }
+            return new Chunk(rows, lines, to - from);
+        }
+
+        /**
+         * 解析一行，前四列全部为空时返回null
+         */
+        private Row parseLine(int line, int from, int to) {
+            int columns = split(from, to);
+            String name = columns > 0 ? decode(0) : null;
+            String employeeId = columns > 1 ? decode(1) : null;
+            String department = columns > 2 ? decode(2) : null;
+            boolean hasWeight = columns > 3 && starts[3] < ends[3];
+            if (name == null && employeeId == null && department == null && !hasWeight) {
+                return null;
+            }
+            Integer weight = null;
+            if (hasWeight) {
+                weight = parseInt(starts[3], ends[3]);
+                if (weight == null) {
+                    return new Row(line, name, employeeId, department, null, "券数格式错误");
+                }
+            }
+            return new Row(line, name, employeeId, department, weight, null);
+        }
+
+        /**
+         * 按分隔符切出前 COLUMNS 列（引号内的分隔符不切分），去掉首尾空白和包围的引号
+         *
+         * @return 列数
+         */
+        private int split(int from, int to) {
+            int column = 0;
+            int fieldStart = from;
+            boolean quoted = false;
+            for (int i = from; i <= to && column < COLUMNS; i++) {
+                if (i < to) {
+                    byte b = view.get(i);
+                    if (b == '"') {
+                        quoted = !quoted;
+                        continue;
+                    }
+                    if (quoted || b != delimiter) {
+                        continue;
+                    }
+                }
+                int start = fieldStart;
+                int end = i;
+                while (start < end && isBlank(view.get(start))) {
+                    start++;
+                }
+                while (end > start && isBlank(view.get(end - 1))) {
+                    end--;
+                }
+                if (end - start >= 2 && view.get(start) == '"' && view.get(end - 1) == '"') {
+                    start++;
+                    end--;
+                }
+                starts[column] = start;
+                ends[column] = end;
+                column++;
+                fieldStart = i + 1;
+            }
+            return column;
+        }
+
+        /**
+         * 解码一列，空列返回null；"" 还原为 "
+         */
+        private String decode(int column) {
+            int from = starts[column];
+            int to = ends[column];
+            if (from >= to) {
+                return null;
+            }
+            int length = to - from;
+            if (chars.capacity() < length) {
+                chars = CharBuffer.allocate(length * 2);
+            }
+            view.limit(view.capacity()).position(from).limit(to);
+            chars.clear();
+            decoder.reset();
+            decoder.decode(view, chars, true);
+            decoder.flush(chars);
+            chars.flip();
+            view.limit(view.capacity());
+
+            char[] array = chars.array();
+            int count = chars.limit();
+            int write = 0;
+            for (int read = 0; read < count; read++) {
+                array[write++] = array[read];
+                if (array[read] == '"' && read + 1 < count && array[read + 1] == '"') {
+                    read++;
+                }
+            }
+            return new String(array, 0, write);
+        }
+
+        /**
+         * 直接从字节解析非负整数，格式错误返回null
+         */
+        private Integer parseInt(int from, int to) {
+            if (to - from > 9) {
+                return null;
+            }
+            int value = 0;
+            for (int i = from; i < to; i++) {
+                byte b = view.get(i);
+                if (b < '0' || b > '9') {
+                    return null;
+                }
+                value = value * 10 + (b - '0');
+            }
+            return value;
+        }
+
+        private static boolean isBlank(byte b) {
+            return b == ' ' || b == '\t';
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.lottery.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 抽奖写操作串行器（单写线程）
+ * <p>
+ * 抽奖、撤销、重置、作弊设置等会改变中奖状态的操作都提交到有界环形队列，
+ * 由唯一的写线程按顺序执行，请求线程等待结果。这样同一时刻只有一个写操作在读写候选池和奖项，
+ * 不会出现同一人被两个奖项同时抽中、或奖项超抽的情况，也不需要数据库悲观锁。
+ */
+@Component
+@Slf4j
+public class DrawSequencer {
+
+    private final BlockingQueue<Runnable> queue;
+    private final long timeoutMillis;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public DrawSequencer(@Value("${lottery.sequencer.capacity:1024}") int capacity,
+                         @Value("${lottery.sequencer.timeout:30000}") long timeoutMillis) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.timeoutMillis = timeoutMillis;
+        this.writer = new Thread(this::loop, "lottery-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+        log.info("抽奖写线程已启动");
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        writer.interrupt();
+    }
+
+    /**
+     * 串行执行并等待结果
+     * <p>
+     * 超时时若操作还在排队则将其取消（不会再执行）并报超时；
+     * 若写线程已开始执行则继续等到真实结果，避免调用方收到超时、操作却在后台生效。
+     */
+    public <T> T call(Supplier<T> command) {
+        // 写线程内的嵌套调用直接执行，避免自己等自己
+        if (Thread.currentThread() == writer) {
+            return command.get();
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        AtomicBoolean claimed = new AtomicBoolean();
+        Runnable task = () -> {
+            // 调用方已超时放弃的操作不再执行
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                future.complete(command.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+
+        try {
+            if (!queue.offer(task, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("系统繁忙，请稍后重试");
+            }
+            try {
+                return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (claimed.compareAndSet(false, true)) {
+                    throw new RuntimeException("操作超时，已取消，请稍后重试");
+                }
+                log.warn("写操作执行时间超过 {} ms，继续等待结果", timeoutMillis);
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            claimed.compareAndSet(false, true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("操作被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * 串行执行无返回值的操作
+     */
+    public void run(Runnable command) {
+        call(() -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * 提交操作但不等待结果（排队顺序在提交时即确定）
+     */
+    public CompletableFuture<Void> submit(Runnable command) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                command.run();
+                future.complete(null);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+        if (!queue.offer(task)) {
+            future.completeExceptionally(new RuntimeException("系统繁忙，请稍后重试"));
+        }
+        return future;
+    }
+
+    /**
+     * 队列中等待执行的操作数
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                queue.take().run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                log.error("抽奖写操作执行异常", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.lottery.service;
+
+import com.lottery.dto.DrawOptions;
+import com.lottery.dto.LotteryResultDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 后台预抽
+ * <p>
+ * 开始抽奖时把预抽任务排入写线程队列（不等待），记录当前滚动中的奖项；
+ * 停止抽奖时按同一选项提交该奖项的预抽结果。由于预抽先于停止入队，停止时预抽一定已经完成。
+ * 切换到另一个奖项时，上一个奖项未提交的预抽结果先作废，中奖人员放回候选池。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DrawStager {
+
+    private final LotteryService lotteryService;
+    private final DrawSequencer drawSequencer;
+
+    /**
+     * 当前滚动中的奖项
+     */
+    private volatile String currentPrizeId;
+
+    /**
+     * 当前滚动使用的抽奖选项
+     */
+    private volatile DrawOptions currentOptions = DrawOptions.defaults();
+
+    /**
+     * 开始滚动并在后台预抽
+     */
+    public synchronized void start(String prizeId, String operator, DrawOptions options) {
+        String previousPrizeId = currentPrizeId;
+        currentPrizeId = prizeId;
+        currentOptions = options;
+        drawSequencer.submit(() -> {
+                    if (previousPrizeId != null && !previousPrizeId.equals(prizeId)) {
+                        lotteryService.discardStaged(previousPrizeId);
+                    }
+                    lotteryService.stageDraw(prizeId, operator, options);
+                })
+                .exceptionally(e -> {
+                    log.warn("预抽失败，停止时将现场抽取：{}", e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * 当前滚动中的奖项ID，没有时返回null
+     */
+    public String currentPrizeId() {
+        return currentPrizeId;
+    }
+
+    /**
+     * 停止滚动并提交预抽结果
+     *
+     * @return 抽奖结果，当前没有滚动中的奖项时返回null
+     */
+    public LotteryResultDTO stop(String operator) {
+        String prizeId;
+        DrawOptions options;
+        synchronized (this) {
+            prizeId = currentPrizeId;
+            options = currentOptions;
+            currentPrizeId = null;
+        }
+        if (prizeId == null) {
+            return null;
+        }
+        return drawSequencer.call(() -> lotteryService.commitStaged(prizeId, operator, options));
+    }
+}
@@ -0,0 +1,34 @@
+package com.lottery.service;
+
+import com.lottery.repository.LotteryRecordRepository;
+import com.lottery.repository.RiggedSettingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 旧代数数据清理（后台异步执行）
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EpochCleaner {
+
+    private final LotteryRecordRepository lotteryRecordRepository;
+    private final RiggedSettingRepository riggedSettingRepository;
+
+    /**
+     * 删除早于指定代数的抽奖记录和作弊设置
+     */
+    @Async
+    @Transactional(rollbackFor = Exception.class)
+    public void purgeBefore(long generation) {
+        int records = lotteryRecordRepository.deleteStaleGenerations(generation);
+        int settings = riggedSettingRepository.deleteStaleGenerations(generation);
+        if (records > 0 || settings > 0) {
+            log.info("已清理旧代数数据：抽奖记录{}条，作弊设置{}条", records, settings);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.lottery.service;
+
+import com.lottery.common.TransactionHooks;
+import com.lottery.entity.LotteryEpoch;
+import com.lottery.repository.LotteryEpochRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 抽奖纪元服务
+ * <p>
+ * 重置系统时只需把代数加一：抽奖记录和作弊设置按代数过滤，旧代数的数据立即"消失"，
+ * 真正的删除交给 {@link EpochCleaner} 在后台完成。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EpochService {
+
+    private final LotteryEpochRepository lotteryEpochRepository;
+    private final EpochCleaner epochCleaner;
+
+    private final AtomicLong current = new AtomicLong();
+
+    /**
+     * 启动时加载当前代数，并清理上次未清理完的旧数据
+     */
+    @PostConstruct
+    public void init() {
+        LotteryEpoch epoch = lotteryEpochRepository.findById(LotteryEpoch.SINGLETON_ID)
+                .orElseGet(() -> lotteryEpochRepository.save(new LotteryEpoch()));
+        current.set(epoch.getGeneration());
+        log.info("当前抽奖代数：{}", epoch.getGeneration());
+        epochCleaner.purgeBefore(epoch.getGeneration());
+    }
+
+    /**
+     * 当前代数
+     */
+    public long current() {
+        return current.get();
+    }
+
+    /**
+     * 推进到下一代数，事务提交后生效并触发后台清理
+     *
+     * @return 新代数
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public long advance() {
+        LotteryEpoch epoch = lotteryEpochRepository.findById(LotteryEpoch.SINGLETON_ID)
+                .orElseGet(LotteryEpoch::new);
+        long next = epoch.getGeneration() + 1;
+        epoch.setGeneration(next);
+        epoch.setResetTime(LocalDateTime.now());
+        lotteryEpochRepository.save(epoch);
+
+        TransactionHooks.afterCommit(() -> {
+            current.set(next);
+            epochCleaner.purgeBefore(next);
+        });
+        return next;
+    }
+}
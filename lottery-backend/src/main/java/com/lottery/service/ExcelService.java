@@ -3,18 +3,23 @@ package com.lottery.service;
 import com.alibaba.excel.EasyExcel;
 import com.alibaba.excel.context.AnalysisContext;
 import com.alibaba.excel.event.AnalysisEventListener;
-import com.lottery.entity.Participant;
+import com.alibaba.excel.exception.ExcelAnalysisStopException;
+import com.lottery.dto.ImportProgressDTO;
+import com.lottery.entity.ImportJob;
+import com.lottery.event.RosterChangedEvent;
+import com.lottery.repository.ParticipantRepository;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Excel导入导出服务
@@ -24,73 +29,95 @@ import java.util.Map;
 @Slf4j
 public class ExcelService {
 
-    private final ParticipantService participantService;
+    private final ParticipantRepository participantRepository;
+    private final ImportJobService importJobService;
+    private final CsvImporter csvImporter;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * 导入人员Excel
+     * 每批提交的行数（写入与检查点同一事务）
      */
-    public ImportResult importParticipants(MultipartFile file) {
-        ImportResult result = new ImportResult();
+    @Value("${lottery.import.batch-size:500}")
+    private int batchSize;
 
-        try {
-            List<ParticipantExcel> dataList = new ArrayList<>();
-            List<String> errors = new ArrayList<>();
+    /**
+     * 后台执行导入任务
+     * <p>
+     * .csv/.tsv/.txt 文件走 {@link CsvImporter}，其余按 Excel 流式读取；
+     * 逐行交给 {@link ImportBatcher} 校验、去重并按批与检查点一起提交。
+     * 继续导入时跳过检查点及之前的行；请求取消后在当前批次提交后停止。
+     */
+    @Async("importExecutor")
+    public void runImport(String jobId) {
+        if (!importJobService.start(jobId)) {
+            log.info("导入任务{}在排队期间已取消", jobId);
+            return;
+        }
+        ImportJob job = importJobService.findById(jobId);
+        Set<String> names = new HashSet<>(participantRepository.findAllNames());
+        ImportBatcher batcher = new ImportBatcher(importJobService, job, names, batchSize);
 
-            EasyExcel.read(file.getInputStream(), ParticipantExcel.class,
-                    new AnalysisEventListener<ParticipantExcel>() {
-                        @Override
-                        public void invoke(ParticipantExcel data, AnalysisContext context) {
-                            dataList.add(data);
-                        }
+        String status = "COMPLETED";
+        String message = null;
+        try {
+            if (CsvImporter.supports(job.getFilePath())) {
+                csvImporter.read(Paths.get(job.getFilePath()), batcher);
+            } else {
+                EasyExcel.read(new File(job.getFilePath()), ParticipantExcel.class, new ImportListener(batcher))
+                        .sheet().doRead();
+            }
+        } catch (ExcelAnalysisStopException e) {
+            // 取消导入
+        } catch (Exception e) {
+            log.error("导入任务{}失败", jobId, e);
+            status = "FAILED";
+            message = "导入失败：" + e.getMessage();
+        }
+        if (batcher.isCancelled()) {
+            status = "CANCELLED";
+        }
 
-                        @Override
-                        public void doAfterAllAnalysed(AnalysisContext context) {
-                            log.info("Excel读取完成，共{}行数据", dataList.size());
-                        }
-                    }).sheet().doRead();
+        if (batcher.getInserted() > 0) {
+            eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.PARTICIPANT));
+        }
+        ImportJob finished = importJobService.finish(jobId, status, message);
+        importJobService.publish(finished, ImportProgressDTO.DONE, batcher.getEstimatedRows(),
+                batcher.rowsPerSecond(), null);
+        log.info("导入任务{}结束：{}，共{}行，成功{}，失败{}", jobId, status,
+                finished.getTotal(), finished.getSuccess(), finished.getFailed());
+    }
 
-            // 验证和转换数据
-            int rowNum = 2; // 从第2行开始（第1行是表头）
-            for (ParticipantExcel excel : dataList) {
-                try {
-                    // 验证必填字段
-                    if (excel.getName() == null || excel.getName().trim().isEmpty()) {
-                        errors.add("第" + rowNum + "行：姓名不能为空");
-                        rowNum++;
-                        continue;
-                    }
+    /**
+     * Excel流式读取监听器
+     */
+    private static class ImportListener extends AnalysisEventListener<ParticipantExcel> {
 
-                    // 转换为实体
-                    Participant participant = new Participant();
-                    participant.setName(excel.getName().trim());
-                    participant.setEmployeeId(excel.getEmployeeId());
-                    participant.setDepartment(excel.getDepartment());
+        private final ImportBatcher batcher;
 
-                    // 尝试添加
-                    try {
-                        participantService.add(participant);
-                        result.setSuccess(result.getSuccess() + 1);
-                    } catch (Exception e) {
-                        errors.add("第" + rowNum + "行：" + e.getMessage());
-                        result.setFailed(result.getFailed() + 1);
-                    }
+        ImportListener(ImportBatcher batcher) {
+            this.batcher = batcher;
+        }
 
-                } catch (Exception e) {
-                    errors.add("第" + rowNum + "行：数据格式错误");
-                    result.setFailed(result.getFailed() + 1);
-                }
-                rowNum++;
+        @Override
+        public void invoke(ParticipantExcel excel, AnalysisContext context) {
+            int rowNum = context.readRowHolder().getRowIndex() + 1;
+            if (batcher.isCommitted(rowNum)) {
+                return;
             }
-
-            result.setTotal(dataList.size());
-            result.setErrors(errors);
-
-        } catch (IOException e) {
-            log.error("读取Excel文件失败", e);
-            throw new RuntimeException("读取Excel文件失败：" + e.getMessage());
+            if (batcher.getEstimatedRows() == 0) {
+                Integer approximate = context.readSheetHolder().getApproximateTotalRowNumber();
+                batcher.setEstimatedRows(approximate == null ? 0 : approximate);
+            }
+            if (batcher.cancelRequested()) {
+                throw new ExcelAnalysisStopException("导入已取消");
+            }
+            batcher.add(rowNum, excel.getName(), excel.getEmployeeId(), excel.getDepartment(), excel.getWeight());
         }
 
-        return result;
+        @Override
+        public void doAfterAllAnalysed(AnalysisContext context) {
+            batcher.flush();
+        }
     }
 
     /**
@@ -101,16 +128,6 @@ public class ExcelService {
         private String name;        // 姓名
         private String employeeId;  // 工号
         private String department;  // 部门
-    }
-
-    /**
-     * 导入结果
-     */
-    @Data
-    public static class ImportResult {
-        private Integer total = 0;      // 总数
-        private Integer success = 0;    // 成功数
-        private Integer failed = 0;     // 失败数
-        private List<String> errors = new ArrayList<>();  // 错误信息
+        private Integer weight;     // 权重（券数，可选）
     }
 }
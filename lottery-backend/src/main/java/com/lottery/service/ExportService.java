@@ -0,0 +1,261 @@
+package com.lottery.service;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.alibaba.excel.annotation.format.DateTimeFormat;
+import com.alibaba.excel.support.ExcelTypeEnum;
+import com.alibaba.excel.write.metadata.WriteSheet;
+import com.lottery.entity.LotteryRecord;
+import com.lottery.entity.Participant;
+import com.lottery.entity.Prize;
+import com.lottery.repository.LotteryRecordRepository;
+import com.lottery.repository.ParticipantRepository;
+import com.lottery.repository.PrizeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 数据导出服务
+ * <p>
+ * 从数据库游标（按 fetch size 分批取行）流式读取，每攒满一块写出并清空持久化上下文，
+ * 导出行数再多堆内存也保持不变。CSV 边读边写；XLSX 由 EasyExcel 以临时文件缓冲行数据，
+ * 结束时打包输出。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    /**
+     * 每次写出的行数
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    private final LotteryRecordRepository lotteryRecordRepository;
+    private final ParticipantRepository participantRepository;
+    private final PrizeRepository prizeRepository;
+    private final EpochService epochService;
+    private final EntityManager entityManager;
+
+    /**
+     * 导出当前代数的抽奖记录
+     */
+    @Transactional(readOnly = true)
+    public void exportRecords(OutputStream out, ExportFormat format) {
+        write(out, format, RecordRow.class, "抽奖记录",
+                lotteryRecordRepository.streamByGeneration(epochService.current()), RecordRow::of);
+    }
+
+    /**
+     * 按奖项导出中奖名单
+     *
+     * @param prizeId 奖项ID，为空时导出所有奖项
+     */
+    @Transactional(readOnly = true)
+    public void exportWinners(OutputStream out, ExportFormat format, String prizeId) {
+        Map<String, Integer> levels = prizeRepository.findAll().stream()
+                .collect(Collectors.toMap(Prize::getId, Prize::getLevel));
+        write(out, format, WinnerRow.class, "中奖名单",
+                participantRepository.streamWinners(prizeId),
+                participant -> WinnerRow.of(participant, levels.get(participant.getWonPrizeId())));
+    }
+
+    /**
+     * 导出全部人员（前四列与导入模板一致，可直接再导入）
+     */
+    @Transactional(readOnly = true)
+    public void exportParticipants(OutputStream out, ExportFormat format) {
+        write(out, format, ParticipantRow.class, "人员名单",
+                participantRepository.streamAll(), ParticipantRow::of);
+    }
+
+    private <E, R> void write(OutputStream out, ExportFormat format, Class<R> rowType, String sheetName,
+                              Stream<E> source, Function<E, R> mapper) {
+        ExcelWriter writer = EasyExcel.write(out, rowType)
+                .excelType(format.getExcelType())
+                .charset(StandardCharsets.UTF_8)
+                .withBom(true)
+                .autoCloseStream(false)
+                .build();
+        WriteSheet sheet = EasyExcel.writerSheet(sheetName).build();
+        int rows = 0;
+        try (source) {
+            List<R> chunk = new ArrayList<>(CHUNK_SIZE);
+            Iterator<E> iterator = source.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(mapper.apply(iterator.next()));
+                if (chunk.size() == CHUNK_SIZE) {
+                    writer.write(chunk, sheet);
+                    rows += chunk.size();
+                    chunk.clear();
+                    // 已写出的实体不再需要，避免持久化上下文随行数增长
+                    entityManager.clear();
+                }
+            }
+            // 最后一块（为空时也要写，输出表头）
+            writer.write(chunk, sheet);
+            rows += chunk.size();
+        } finally {
+            writer.finish();
+        }
+        log.info("导出{}完成，共{}行", sheetName, rows);
+    }
+
+    /**
+     * 导出格式
+     */
+    public enum ExportFormat {
+        XLSX(ExcelTypeEnum.XLSX, "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+        CSV(ExcelTypeEnum.CSV, "text/csv;charset=UTF-8");
+
+        private final ExcelTypeEnum excelType;
+        private final String contentType;
+
+        ExportFormat(ExcelTypeEnum excelType, String contentType) {
+            this.excelType = excelType;
+            this.contentType = contentType;
+        }
+
+        public ExcelTypeEnum getExcelType() {
+            return excelType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getSuffix() {
+            return excelType.getValue();
+        }
+
+        /**
+         * 按参数解析格式（不区分大小写）
+         */
+        public static ExportFormat of(String format) {
+            for (ExportFormat value : values()) {
+                if (value.name().equalsIgnoreCase(format)) {
+                    return value;
+                }
+            }
+            throw new RuntimeException("不支持的导出格式：" + format);
+        }
+    }
+
+    /**
+     * 抽奖记录行
+     */
+    @Data
+    public static class RecordRow {
+        @ExcelProperty("奖项")
+        private String prizeName;
+        @ExcelProperty("等级")
+        private Integer prizeLevel;
+        @ExcelProperty("姓名")
+        private String participantName;
+        @ExcelProperty("类型")
+        private String action;
+        @ExcelProperty("状态")
+        private String status;
+        @ExcelProperty("抽奖时间")
+        @DateTimeFormat("yyyy-MM-dd HH:mm:ss")
+        private LocalDateTime drawTime;
+        @ExcelProperty("撤销时间")
+        @DateTimeFormat("yyyy-MM-dd HH:mm:ss")
+        private LocalDateTime cancelledTime;
+        @ExcelProperty("操作人")
+        private String operator;
+        @ExcelProperty("备注")
+        private String remark;
+
+        static RecordRow of(LotteryRecord record) {
+            RecordRow row = new RecordRow();
+            row.setPrizeName(record.getPrizeName());
+            row.setPrizeLevel(record.getPrizeLevel());
+            row.setParticipantName(record.getParticipantName());
+            row.setAction("RIGGED".equals(record.getAction()) ? "指定中奖" : "随机中奖");
+            row.setStatus(Boolean.TRUE.equals(record.getIsCancelled()) ? "已撤销" : "有效");
+            row.setDrawTime(record.getDrawTime());
+            row.setCancelledTime(record.getCancelledTime());
+            row.setOperator(record.getOperator());
+            row.setRemark(record.getRemark());
+            return row;
+        }
+    }
+
+    /**
+     * 中奖名单行
+     */
+    @Data
+    public static class WinnerRow {
+        @ExcelProperty("等级")
+        private Integer prizeLevel;
+        @ExcelProperty("奖项")
+        private String prizeName;
+        @ExcelProperty("姓名")
+        private String name;
+        @ExcelProperty("工号")
+        private String employeeId;
+        @ExcelProperty("部门")
+        private String department;
+        @ExcelProperty("中奖时间")
+        @DateTimeFormat("yyyy-MM-dd HH:mm:ss")
+        private LocalDateTime wonTime;
+
+        static WinnerRow of(Participant participant, Integer prizeLevel) {
+            WinnerRow row = new WinnerRow();
+            row.setPrizeLevel(prizeLevel);
+            row.setPrizeName(participant.getWonPrizeName());
+            row.setName(participant.getName());
+            row.setEmployeeId(participant.getEmployeeId());
+            row.setDepartment(participant.getDepartment());
+            row.setWonTime(participant.getWonTime());
+            return row;
+        }
+    }
+
+    /**
+     * 人员名单行
+     */
+    @Data
+    public static class ParticipantRow {
+        @ExcelProperty("姓名")
+        private String name;
+        @ExcelProperty("工号")
+        private String employeeId;
+        @ExcelProperty("部门")
+        private String department;
+        @ExcelProperty("券数")
+        private Integer weight;
+        @ExcelProperty("状态")
+        private String status;
+        @ExcelProperty("中奖奖项")
+        private String wonPrizeName;
+
+        static ParticipantRow of(Participant participant) {
+            ParticipantRow row = new ParticipantRow();
+            row.setName(participant.getName());
+            row.setEmployeeId(participant.getEmployeeId());
+            row.setDepartment(participant.getDepartment());
+            row.setWeight(participant.getWeight());
+            row.setStatus("WON".equals(participant.getStatus()) ? "已中奖" : "可抽取");
+            row.setWonPrizeName(participant.getWonPrizeName());
+            return row;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.lottery.service;
+
+import com.lottery.dto.ImportProgressDTO;
+import com.lottery.entity.ImportJob;
+import com.lottery.entity.Participant;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 导入批次累积器（Excel、CSV 导入共用）
+ * <p>
+ * 逐行校验：姓名与一次性加载的已有姓名集合（及本次已读姓名）比对去重；
+ * 攒满一批即与检查点一起提交并推送进度，内存中只保留一批数据。
+ * 整批写入失败时逐行重试，只有确实写不进去的行记为失败；检查点在本批各行写入或记为失败之后才推进。
+ * 检查点及之前的行由调用方跳过。非线程安全，只在导入线程中使用。
+ */
+@Slf4j
+class ImportBatcher {
+
+    private static final int MAX_ERRORS = 200;
+
+    private final ImportJobService importJobService;
+    private final String jobId;
+    private final int checkpointRow;
+    private final Set<String> names;
+    private final int batchSize;
+    private final long startedAt = System.nanoTime();
+
+    /**
+     * 当前批次：合格的人员及其行号、处理行数、失败行数、错误信息
+     */
+    private final List<Participant> batch = new ArrayList<>();
+    private final List<Integer> batchRows = new ArrayList<>();
+    private final List<String> batchErrors = new ArrayList<>();
+    private int processed;
+    private int failed;
+    private int lastRow;
+
+    /**
+     * 已提交的检查点
+     */
+    private int committedRow;
+
+    /**
+     * 本次运行处理的行数和写入的人数
+     */
+    private int runRows;
+    private int inserted;
+
+    private int estimatedRows;
+    private boolean cancelled;
+
+    ImportBatcher(ImportJobService importJobService, ImportJob job, Set<String> names, int batchSize) {
+        this.importJobService = importJobService;
+        this.jobId = job.getId();
+        this.checkpointRow = job.getCheckpointRow();
+        this.names = names;
+        this.batchSize = batchSize;
+        this.lastRow = checkpointRow;
+        this.committedRow = checkpointRow;
+    }
+
+    /**
+     * 该行是否已在之前的运行中提交
+     */
+    boolean isCommitted(int rowNum) {
+        return rowNum <= checkpointRow;
+    }
+
+    /**
+     * 检查是否已请求取消；是则提交当前批次，调用方应停止读取
+     */
+    boolean cancelRequested() {
+        if (!cancelled && importJobService.isCancelRequested(jobId)) {
+            flush();
+            cancelled = true;
+        }
+        return cancelled;
+    }
+
+    /**
+     * 校验并加入一行
+     */
+    void add(int rowNum, String name, String employeeId, String department, Integer weight) {
+        String error = validate(name, employeeId, department);
+        if (error == null && weight != null && weight > ParticipantService.MAX_TICKETS) {
+            error = "券数不能超过" + ParticipantService.MAX_TICKETS;
+        }
+        if (error != null) {
+            reject(rowNum, error);
+            return;
+        }
+        Participant participant = new Participant();
+        participant.setName(name.trim());
+        participant.setEmployeeId(employeeId);
+        participant.setDepartment(department);
+        participant.setWeight(weight);
+        batch.add(participant);
+        batchRows.add(rowNum);
+        advance(rowNum);
+    }
+
+    /**
+     * 记一行失败（如格式错误）
+     */
+    void reject(int rowNum, String message) {
+        fail(rowNum, message);
+        advance(rowNum);
+    }
+
+    /**
+     * 提交当前批次并推送进度；整批写入失败时逐行重试
+     */
+    void flush() {
+        if (processed == 0) {
+            return;
+        }
+        ImportJob job;
+        try {
+            job = importJobService.commitBatch(jobId, batch, lastRow, processed, failed, batchErrors);
+            inserted += batch.size();
+        } catch (Exception e) {
+            log.warn("导入任务{}批量写入失败，截至第{}行，改为逐行写入：{}", jobId, lastRow, e.getMessage());
+            retryRows();
+            job = importJobService.commitBatch(jobId, List.of(), lastRow, processed, failed, batchErrors);
+        }
+
+        importJobService.publish(job, ImportProgressDTO.PROGRESS, estimatedRows, rowsPerSecond(), null);
+        if (!batchErrors.isEmpty()) {
+            importJobService.publish(job, ImportProgressDTO.ERROR, estimatedRows, rowsPerSecond(),
+                    new ArrayList<>(batchErrors));
+        }
+
+        committedRow = lastRow;
+        batch.clear();
+        batchRows.clear();
+        batchErrors.clear();
+        processed = 0;
+        failed = 0;
+    }
+
+    /**
+     * 逐行写入本批合格行（检查点不动），写不进去的行记为失败并移出去重集合
+     */
+    private void retryRows() {
+        for (int i = 0; i < batch.size(); i++) {
+            Participant participant = batch.get(i);
+            int rowNum = batchRows.get(i);
+            // 整批回滚后实体可能已带上生成的ID，清掉按新记录写入
+            participant.setId(null);
+            try {
+                importJobService.commitBatch(jobId, List.of(participant), committedRow, 0, 0, List.of());
+                inserted++;
+            } catch (Exception e) {
+                log.warn("导入任务{}第{}行写入失败：{}", jobId, rowNum, e.getMessage());
+                names.remove(participant.getName());
+                fail(rowNum, "写入失败：" + e.getMessage());
+            }
+        }
+    }
+
+    int getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    void setEstimatedRows(int estimatedRows) {
+        this.estimatedRows = estimatedRows;
+    }
+
+    int getInserted() {
+        return inserted;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 本次运行的处理速度（行/秒）
+     */
+    double rowsPerSecond() {
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        return seconds > 0 ? Math.round(runRows / seconds * 10) / 10.0 : 0;
+    }
+
+    /**
+     * 校验一行，返回错误信息，合格时返回null
+     */
+    private String validate(String rawName, String employeeId, String department) {
+        String name = rawName == null ? "" : rawName.trim();
+        if (name.isEmpty()) {
+            return "姓名不能为空";
+        }
+        if (name.length() > 50) {
+            return "姓名过长";
+        }
+        if (employeeId != null && employeeId.length() > 20) {
+            return "工号过长";
+        }
+        if (department != null && department.length() > 50) {
+            return "部门名称过长";
+        }
+        if (!names.add(name)) {
+            return "姓名已存在：" + name;
+        }
+        return null;
+    }
+
+    private void advance(int rowNum) {
+        processed++;
+        runRows++;
+        lastRow = rowNum;
+        if (processed >= batchSize) {
+            flush();
+        }
+    }
+
+    private void fail(int rowNum, String message) {
+        failed++;
+        if (batchErrors.size() < MAX_ERRORS) {
+            batchErrors.add("第" + rowNum + "行：" + message);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.lottery.service;
+
+import com.lottery.dto.ImportProgressDTO;
+import com.lottery.entity.ImportJob;
+import com.lottery.entity.Participant;
+import com.lottery.event.TopicBroadcaster;
+import com.lottery.repository.ImportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 导入任务服务
+ * <p>
+ * 负责任务的创建、检查点提交、取消、继续和进度推送；实际读取文件由 {@link ExcelService#runImport} 在后台执行。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportJobService {
+
+    private static final int MAX_ERRORS = 200;
+
+    private final ImportJobRepository importJobRepository;
+    private final ParticipantBatchWriter participantBatchWriter;
+    private final TopicBroadcaster topicBroadcaster;
+
+    /**
+     * 上传文件保存目录
+     */
+    @Value("${lottery.import.dir:./data/imports}")
+    private String importDir;
+
+    /**
+     * 已请求取消的任务
+     */
+    private final Set<String> cancelRequested = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 启动时把上次未结束的任务标记为中断（可继续）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(rollbackFor = Exception.class)
+    public void markInterrupted() {
+        int interrupted = importJobRepository.markInterrupted(LocalDateTime.now());
+        if (interrupted > 0) {
+            log.warn("{}个导入任务因服务重启中断，可继续导入", interrupted);
+        }
+    }
+
+    /**
+     * 保存上传文件并创建任务
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ImportJob create(MultipartFile file, String operator) {
+        String originalName = file.getOriginalFilename();
+        String suffix = originalName != null && originalName.contains(".")
+                ? originalName.substring(originalName.lastIndexOf('.'))
+                : ".xlsx";
+        try {
+            Path dir = Paths.get(importDir);
+            Files.createDirectories(dir);
+            Path path = dir.resolve(UUID.randomUUID() + suffix);
+            file.transferTo(path.toAbsolutePath());
+
+            ImportJob job = new ImportJob();
+            job.setFileName(originalName);
+            job.setFilePath(path.toString());
+            job.setOperator(operator);
+            return importJobRepository.save(job);
+        } catch (IOException e) {
+            log.error("保存上传文件失败", e);
+            throw new RuntimeException("保存上传文件失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 排队中的任务开始执行（置为导入中）
+     *
+     * @return false 表示任务在排队期间已取消
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public boolean start(String jobId) {
+        return importJobRepository.transition(jobId, "QUEUED", "RUNNING", LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * 导入线程池排队已满、任务未能提交：标记为中断，保留上传文件，稍后可继续导入
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ImportJob markRejected(String jobId) {
+        ImportJob job = findById(jobId);
+        job.setStatus("INTERRUPTED");
+        job.setMessage("导入任务排队已满，未开始执行");
+        return importJobRepository.save(job);
+    }
+
+    /**
+     * 查询任务
+     */
+    public ImportJob findById(String jobId) {
+        return importJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("导入任务不存在"));
+    }
+
+    /**
+     * 最近的任务
+     */
+    public List<ImportJob> findRecent() {
+        return importJobRepository.findTop20ByOrderByCreatedAtDesc();
+    }
+
+    /**
+     * 准备继续导入（已取消、中断或失败的任务）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ImportJob prepareResume(String jobId) {
+        ImportJob job = findById(jobId);
+        if ("QUEUED".equals(job.getStatus()) || "RUNNING".equals(job.getStatus())
+                || "COMPLETED".equals(job.getStatus())) {
+            throw new RuntimeException("该任务无需继续");
+        }
+        if (!Files.exists(Paths.get(job.getFilePath()))) {
+            throw new RuntimeException("上传文件已不存在，请重新导入");
+        }
+        cancelRequested.remove(jobId);
+        job.setStatus("QUEUED");
+        job.setMessage(null);
+        return importJobRepository.save(job);
+    }
+
+    /**
+     * 请求取消：排队中的任务直接取消，导入中的任务在当前批次提交后停止
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ImportJob cancel(String jobId) {
+        if (importJobRepository.transition(jobId, "QUEUED", "CANCELLED", LocalDateTime.now()) > 0) {
+            ImportJob job = findById(jobId);
+            publish(job, ImportProgressDTO.DONE, 0, 0, null);
+            return job;
+        }
+        ImportJob job = findById(jobId);
+        if (!"RUNNING".equals(job.getStatus())) {
+            throw new RuntimeException("该任务未在运行");
+        }
+        cancelRequested.add(jobId);
+        return job;
+    }
+
+    /**
+     * 是否已请求取消
+     */
+    public boolean isCancelRequested(String jobId) {
+        return cancelRequested.contains(jobId);
+    }
+
+    /**
+     * 提交一批：写入人员并推进检查点（同一事务，要么都生效要么都不生效）
+     *
+     * @param batch 本批合格的人员（可为空）
+     * @param lastRow 本批最后一行行号
+     * @param processed 本批处理的行数
+     * @param failed 本批校验失败的行数
+     * @param errors 本批新增的错误信息
+     * @return 更新后的任务
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ImportJob commitBatch(String jobId, List<Participant> batch, int lastRow,
+                                 int processed, int failed, List<String> errors) {
+        int inserted = batch.isEmpty() ? 0 : participantBatchWriter.insert(batch);
+
+        ImportJob job = findById(jobId);
+        job.setTotal(job.getTotal() + processed);
+        job.setSuccess(job.getSuccess() + inserted);
+        job.setFailed(job.getFailed() + failed);
+        job.setCheckpointRow(lastRow);
+        appendErrors(job, errors);
+        return importJobRepository.save(job);
+    }
+
+    /**
+     * 结束任务
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ImportJob finish(String jobId, String status, String message) {
+        cancelRequested.remove(jobId);
+        ImportJob job = findById(jobId);
+        job.setStatus(status);
+        job.setMessage(message);
+        ImportJob saved = importJobRepository.save(job);
+
+        // 完成后不再需要继续导入，删除上传文件
+        if ("COMPLETED".equals(status)) {
+            try {
+                Files.deleteIfExists(Paths.get(job.getFilePath()));
+            } catch (IOException e) {
+                log.warn("删除上传文件失败：{}", job.getFilePath());
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * 推送进度
+     */
+    public void publish(ImportJob job, String type, int estimatedRows, double rowsPerSecond, List<String> errors) {
+        ImportProgressDTO progress = new ImportProgressDTO();
+        progress.setJobId(job.getId());
+        progress.setType(type);
+        progress.setStatus(job.getStatus());
+        progress.setTotal(job.getTotal());
+        progress.setSuccess(job.getSuccess());
+        progress.setFailed(job.getFailed());
+        progress.setCheckpointRow(job.getCheckpointRow());
+        progress.setEstimatedRows(estimatedRows);
+        progress.setRowsPerSecond(rowsPerSecond);
+        progress.setErrors(errors);
+        progress.setMessage(job.getMessage());
+        topicBroadcaster.send("/topic/import/" + job.getId(), progress);
+    }
+
+    private static void appendErrors(ImportJob job, List<String> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        String existing = job.getErrors();
+        int count = existing == null || existing.isEmpty() ? 0 : existing.split("\n").length;
+        if (count >= MAX_ERRORS) {
+            return;
+        }
+        StringBuilder builder = new StringBuilder(existing == null ? "" : existing);
+        for (String error : errors.subList(0, Math.min(errors.size(), MAX_ERRORS - count))) {
+            if (builder.length() > 0) {
+                builder.append('\n');
+            }
+            builder.append(error);
+        }
+        job.setErrors(builder.toString());
+    }
+}
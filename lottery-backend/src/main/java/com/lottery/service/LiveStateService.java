@@ -0,0 +1,246 @@
+package com.lottery.service;
+
+import com.lottery.dto.LiveDeltaDTO;
+import com.lottery.dto.LiveSnapshotDTO;
+import com.lottery.dto.LotteryResultDTO;
+import com.lottery.entity.LotteryRecord;
+import com.lottery.entity.Prize;
+import com.lottery.event.RosterChangedEvent;
+import com.lottery.event.WinCancelledEvent;
+import com.lottery.repository.LotteryRecordRepository;
+import com.lottery.repository.ParticipantRepository;
+import com.lottery.repository.PrizeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 现场状态（常驻内存，带版本号）
+ * <p>
+ * 启动、重置时从数据库整体加载；抽奖、撤销和名单变更只做增量更新，每次变更序号加一。
+ * 大屏订阅时直接取内存快照，之后按序号接收增量，重连只需一次订阅。
+ * <p>
+ * 变更由 DomainEventBroadcaster 在事务提交后依次调用，快照读取与变更互斥，保证快照序号与内容一致。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveStateService {
+
+    private static final int RECENT_WINNERS = 50;
+
+    private final PrizeRepository prizeRepository;
+    private final ParticipantRepository participantRepository;
+    private final LotteryRecordRepository lotteryRecordRepository;
+    private final EpochService epochService;
+    private final DrawStager drawStager;
+    private final LiveStatistics liveStatistics;
+
+    private long seq;
+
+    /**
+     * 奖项ID → 状态，按等级升序
+     */
+    private final Map<String, LiveSnapshotDTO.PrizeState> prizes = new LinkedHashMap<>();
+
+    /**
+     * 最近中奖，最新在前
+     */
+    private final Deque<LiveSnapshotDTO.RecentWinner> recentWinners = new ArrayDeque<>();
+
+    private final LiveSnapshotDTO.Counters counters = new LiveSnapshotDTO.Counters();
+
+    /**
+     * 启动完成后加载
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        reload();
+    }
+
+    /**
+     * 当前快照
+     */
+    public synchronized LiveSnapshotDTO snapshot() {
+        LiveSnapshotDTO snapshot = new LiveSnapshotDTO();
+        snapshot.setSeq(seq);
+        snapshot.setGeneration(epochService.current());
+        snapshot.setDrawingPrizeId(drawStager.currentPrizeId());
+        snapshot.setNextPrizeId(nextPrizeId());
+        snapshot.setPrizes(prizes.values().stream().map(LiveStateService::copy).collect(Collectors.toList()));
+        snapshot.setRecentWinners(new ArrayList<>(recentWinners));
+        snapshot.setCounters(copyCounters());
+        return snapshot;
+    }
+
+    /**
+     * 抽奖完成
+     */
+    public synchronized LiveDeltaDTO applyDraw(LotteryResultDTO result) {
+        int won = result.getWinners().size();
+        LiveSnapshotDTO.PrizeState prize = prizes.get(result.getPrizeId());
+        if (prize != null) {
+            prize.setDrawnCount(prize.getDrawnCount() + won);
+            if (prize.getDrawnCount() >= prize.getCount()) {
+                prize.setStatus("COMPLETED");
+            }
+        }
+        for (LotteryResultDTO.WinnerDTO winner : result.getWinners()) {
+            LiveSnapshotDTO.RecentWinner recent = new LiveSnapshotDTO.RecentWinner();
+            recent.setParticipantId(winner.getId());
+            recent.setName(winner.getName());
+            recent.setPrizeId(result.getPrizeId());
+            recent.setPrizeName(result.getPrizeName());
+            recent.setPrizeLevel(result.getPrizeLevel());
+            pushRecent(recent);
+        }
+        counters.setAvailable(Math.max(0, counters.getAvailable() - won));
+        counters.setWon(counters.getWon() + won);
+        Map<String, Object> data = new HashMap<>();
+        data.put("result", result);
+        data.put("prize", prize != null ? copy(prize) : null);
+        return new LiveDeltaDTO(++seq, LiveDeltaDTO.DRAW, data);
+    }
+
+    /**
+     * 撤销中奖
+     */
+    public synchronized LiveDeltaDTO applyCancel(WinCancelledEvent event) {
+        LiveSnapshotDTO.PrizeState prize = prizes.get(event.getPrizeId());
+        if (prize != null) {
+            prize.setDrawnCount(Math.max(0, prize.getDrawnCount() - 1));
+            if (prize.getDrawnCount() < prize.getCount()) {
+                prize.setStatus("PENDING");
+            }
+        }
+        recentWinners.removeIf(recent -> recent.getParticipantId().equals(event.getParticipantId()));
+        counters.setAvailable(counters.getAvailable() + 1);
+        counters.setWon(Math.max(0, counters.getWon() - 1));
+        Map<String, Object> data = new HashMap<>();
+        data.put("participantId", event.getParticipantId());
+        data.put("prize", prize != null ? copy(prize) : null);
+        return new LiveDeltaDTO(++seq, LiveDeltaDTO.CANCEL, data);
+    }
+
+    /**
+     * 整体重新加载（重置）
+     *
+     * @param type 增量类型：RESET
+     */
+    public synchronized LiveDeltaDTO applyReload(String type) {
+        reload();
+        return new LiveDeltaDTO(++seq, type, null);
+    }
+
+    /**
+     * 重新同步：有增量推送被丢弃时序号加一，客户端收到后重新订阅快照（内存状态本身是完整的）
+     */
+    public synchronized LiveDeltaDTO resync() {
+        return new LiveDeltaDTO(++seq, LiveDeltaDTO.RESYNC, null);
+    }
+
+    /**
+     * 名单变更：人数取内存统计，奖项有变化时只重新加载奖项（一次查询），中奖记录不受影响
+     *
+     * @param sources 变更来源（RosterChangedEvent.PARTICIPANT / PRIZE）
+     */
+    public synchronized LiveDeltaDTO applyRoster(Set<String> sources) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("sources", sources);
+        if (sources.contains(RosterChangedEvent.PRIZE)) {
+            loadPrizes();
+            data.put("prizes", prizes.values().stream().map(LiveStateService::copy).collect(Collectors.toList()));
+        }
+        ParticipantService.ParticipantStatistics stats = liveStatistics.participantStatistics();
+        counters.setTotal(stats.getTotal());
+        counters.setAvailable(stats.getAvailable());
+        counters.setWon(stats.getWon());
+        data.put("counters", copyCounters());
+        return new LiveDeltaDTO(++seq, LiveDeltaDTO.ROSTER, data);
+    }
+
+    private synchronized void reload() {
+        loadPrizes();
+
+        recentWinners.clear();
+        for (LotteryRecord record : lotteryRecordRepository
+                .findTop50ByGenerationAndIsCancelledOrderByDrawTimeDesc(epochService.current(), false)) {
+            LiveSnapshotDTO.RecentWinner recent = new LiveSnapshotDTO.RecentWinner();
+            recent.setParticipantId(record.getParticipantId());
+            recent.setName(record.getParticipantName());
+            recent.setPrizeId(record.getPrizeId());
+            recent.setPrizeName(record.getPrizeName());
+            recent.setPrizeLevel(record.getPrizeLevel());
+            recentWinners.addLast(recent);
+        }
+
+        counters.setTotal(participantRepository.count());
+        counters.setAvailable(participantRepository.countByStatus("AVAILABLE"));
+        counters.setWon(participantRepository.countByStatus("WON"));
+        log.debug("现场状态已加载，序号{}", seq);
+    }
+
+    private void loadPrizes() {
+        prizes.clear();
+        for (Prize prize : prizeRepository.findAllByOrderByLevelAsc()) {
+            LiveSnapshotDTO.PrizeState state = new LiveSnapshotDTO.PrizeState();
+            state.setId(prize.getId());
+            state.setName(prize.getName());
+            state.setLevel(prize.getLevel());
+            state.setCount(prize.getCount());
+            state.setDrawnCount(prize.getDrawnCount());
+            state.setStatus(prize.getStatus());
+            prizes.put(prize.getId(), state);
+        }
+    }
+
+    private void pushRecent(LiveSnapshotDTO.RecentWinner recent) {
+        recentWinners.addFirst(recent);
+        while (recentWinners.size() > RECENT_WINNERS) {
+            recentWinners.removeLast();
+        }
+    }
+
+    /**
+     * 下一个待抽取的奖项（与 PrizeService#getNextPendingPrize 一致，取等级数值最小的）
+     */
+    private String nextPrizeId() {
+        return prizes.values().stream()
+                .filter(prize -> "PENDING".equals(prize.getStatus()))
+                .min(Comparator.comparing(LiveSnapshotDTO.PrizeState::getLevel))
+                .map(LiveSnapshotDTO.PrizeState::getId)
+                .orElse(null);
+    }
+
+    private LiveSnapshotDTO.Counters copyCounters() {
+        LiveSnapshotDTO.Counters copy = new LiveSnapshotDTO.Counters();
+        copy.setTotal(counters.getTotal());
+        copy.setAvailable(counters.getAvailable());
+        copy.setWon(counters.getWon());
+        return copy;
+    }
+
+    private static LiveSnapshotDTO.PrizeState copy(LiveSnapshotDTO.PrizeState source) {
+        LiveSnapshotDTO.PrizeState state = new LiveSnapshotDTO.PrizeState();
+        state.setId(source.getId());
+        state.setName(source.getName());
+        state.setLevel(source.getLevel());
+        state.setCount(source.getCount());
+        state.setDrawnCount(source.getDrawnCount());
+        state.setStatus(source.getStatus());
+        return state;
+    }
+}
@@ -0,0 +1,282 @@
+package com.lottery.service;
+
+import com.lottery.entity.Participant;
+import com.lottery.entity.Prize;
+import com.lottery.repository.ParticipantRepository;
+import com.lottery.repository.PrizeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 实时统计（常驻内存）
+ * <p>
+ * 启动和重置时从数据库加载一次，之后由人员、奖项、抽奖服务在事务提交后增量维护，
+ * 查询统计信息不再执行 count 查询。计数器使用 LongAdder，多线程更新互不争用。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveStatistics {
+
+    private final ParticipantRepository participantRepository;
+    private final PrizeRepository prizeRepository;
+
+    private final Counter participants = new Counter();
+
+    /**
+     * 部门 → 计数，未填写部门的归为空字符串
+     */
+    private final Map<String, Counter> departments = new ConcurrentHashMap<>();
+
+    private final LongAdder totalPrizes = new LongAdder();
+    private final LongAdder pendingPrizes = new LongAdder();
+    private final LongAdder completedPrizes = new LongAdder();
+    private final LongAdder totalWinnerSlots = new LongAdder();
+    private final LongAdder totalDrawn = new LongAdder();
+
+    /**
+     * 启动时加载
+     */
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * 从数据库重新加载
+     */
+    public synchronized void reload() {
+        participants.reset();
+        departments.clear();
+        for (Participant participant : participantRepository.findAll()) {
+            participantAdded(participant);
+        }
+
+        totalPrizes.reset();
+        pendingPrizes.reset();
+        completedPrizes.reset();
+        totalWinnerSlots.reset();
+        totalDrawn.reset();
+        for (Prize prize : prizeRepository.findAll()) {
+            prizeAdded(prize);
+        }
+        log.info("实时统计已加载：人员{}人，奖项{}个", participants.total.sum(), totalPrizes.sum());
+    }
+
+    // ==================== 人员 ====================
+
+    /**
+     * 新增人员
+     */
+    public void participantAdded(Participant participant) {
+        participants.add(participant.getStatus(), 1);
+        department(participant).add(participant.getStatus(), 1);
+    }
+
+    /**
+     * 删除人员
+     */
+    public void participantRemoved(Participant participant) {
+        participants.add(participant.getStatus(), -1);
+        department(participant).add(participant.getStatus(), -1);
+    }
+
+    /**
+     * 人员调换部门
+     */
+    public void participantMoved(String oldDepartment, Participant participant) {
+        String newDepartment = CandidatePool.departmentOf(participant);
+        String previous = oldDepartment == null ? "" : oldDepartment.trim();
+        if (previous.equals(newDepartment)) {
+            return;
+        }
+        department(previous).add(participant.getStatus(), -1);
+        department(newDepartment).add(participant.getStatus(), 1);
+    }
+
+    /**
+     * 人员中奖（AVAILABLE → WON）
+     */
+    public void participantsWon(Collection<Participant> winners) {
+        for (Participant winner : winners) {
+            Counter counter = department(winner);
+            counter.available.decrement();
+            counter.won.increment();
+        }
+        participants.available.add(-winners.size());
+        participants.won.add(winners.size());
+    }
+
+    /**
+     * 撤销中奖（WON → AVAILABLE）
+     */
+    public void participantRestored(Participant participant) {
+        Counter counter = department(participant);
+        counter.won.decrement();
+        counter.available.increment();
+        participants.won.decrement();
+        participants.available.increment();
+    }
+
+    // ==================== 奖项 ====================
+
+    /**
+     * 新增奖项
+     */
+    public void prizeAdded(Prize prize) {
+        totalPrizes.increment();
+        adjustStatus(prize.getStatus(), 1);
+        totalWinnerSlots.add(prize.getCount());
+        totalDrawn.add(prize.getDrawnCount());
+    }
+
+    /**
+     * 删除奖项
+     */
+    public void prizeRemoved(Prize prize) {
+        totalPrizes.decrement();
+        adjustStatus(prize.getStatus(), -1);
+        totalWinnerSlots.add(-prize.getCount());
+        totalDrawn.add(-prize.getDrawnCount());
+    }
+
+    /**
+     * 奖项名额变化
+     */
+    public void prizeCountChanged(int delta) {
+        totalWinnerSlots.add(delta);
+    }
+
+    /**
+     * 奖项抽出若干人
+     *
+     * @param completed 本次是否使奖项变为已完成
+     */
+    public void prizeDrawn(int drawn, boolean completed) {
+        totalDrawn.add(drawn);
+        if (completed) {
+            pendingPrizes.decrement();
+            completedPrizes.increment();
+        }
+    }
+
+    /**
+     * 奖项撤销一人
+     *
+     * @param reopened 本次是否使奖项从已完成恢复为待抽取
+     */
+    public void prizeUndrawn(boolean reopened) {
+        totalDrawn.decrement();
+        if (reopened) {
+            completedPrizes.decrement();
+            pendingPrizes.increment();
+        }
+    }
+
+    // ==================== 查询 ====================
+
+    /**
+     * 人员统计
+     */
+    public ParticipantService.ParticipantStatistics participantStatistics() {
+        long total = participants.total.sum();
+        long won = participants.won.sum();
+        ParticipantService.ParticipantStatistics stats = new ParticipantService.ParticipantStatistics();
+        stats.setTotal(total);
+        stats.setAvailable(participants.available.sum());
+        stats.setWon(won);
+        stats.setWinRate(total > 0 ? (double) won / total * 100 : 0.0);
+        return stats;
+    }
+
+    /**
+     * 奖项统计
+     */
+    public PrizeService.PrizeStatistics prizeStatistics() {
+        PrizeService.PrizeStatistics stats = new PrizeService.PrizeStatistics();
+        stats.setTotalPrizes(totalPrizes.sum());
+        stats.setPendingPrizes(pendingPrizes.sum());
+        stats.setCompletedPrizes(completedPrizes.sum());
+        stats.setTotalWinnerSlots((int) totalWinnerSlots.sum());
+        stats.setTotalDrawn((int) totalDrawn.sum());
+        return stats;
+    }
+
+    /**
+     * 按部门统计（部门名排序，未填写部门的显示为"未分配"）
+     */
+    public Map<String, DepartmentStatistics> departmentStatistics() {
+        Map<String, DepartmentStatistics> stats = new TreeMap<>();
+        departments.forEach((name, counter) -> {
+            long total = counter.total.sum();
+            if (total <= 0) {
+                return;
+            }
+            DepartmentStatistics item = new DepartmentStatistics();
+            item.setTotal(total);
+            item.setAvailable(counter.available.sum());
+            item.setWon(counter.won.sum());
+            stats.put(name.isEmpty() ? "未分配" : name, item);
+        });
+        return stats;
+    }
+
+    private Counter department(Participant participant) {
+        return department(CandidatePool.departmentOf(participant));
+    }
+
+    private Counter department(String name) {
+        return departments.computeIfAbsent(name, key -> new Counter());
+    }
+
+    private void adjustStatus(String status, int delta) {
+        if ("PENDING".equals(status)) {
+            pendingPrizes.add(delta);
+        } else if ("COMPLETED".equals(status)) {
+            completedPrizes.add(delta);
+        }
+    }
+
+    /**
+     * 人员计数器
+     */
+    private static class Counter {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder available = new LongAdder();
+        private final LongAdder won = new LongAdder();
+
+        void add(String status, int delta) {
+            total.add(delta);
+            if ("AVAILABLE".equals(status)) {
+                available.add(delta);
+            } else if ("WON".equals(status)) {
+                won.add(delta);
+            }
+        }
+
+        void reset() {
+            total.reset();
+            available.reset();
+            won.reset();
+        }
+    }
+
+    /**
+     * 部门统计
+     */
+    @Data
+    public static class DepartmentStatistics {
+        private long total;
+        private long available;
+        private long won;
+    }
+}
@@ -1,23 +1,39 @@
 package com.lottery.service;
 
-import cn.hutool.core.util.RandomUtil;
+import com.lottery.algorithm.DrawAlgorithm;
+import com.lottery.common.TransactionHooks;
+import com.lottery.dto.DrawOptions;
 import com.lottery.dto.LotteryResultDTO;
 import com.lottery.entity.LotteryRecord;
 import com.lottery.entity.Participant;
 import com.lottery.entity.Prize;
 import com.lottery.entity.RiggedSetting;
+import com.lottery.entity.StagedDraw;
+import com.lottery.event.DrawCompletedEvent;
+import com.lottery.event.SystemResetEvent;
+import com.lottery.event.WinCancelledEvent;
 import com.lottery.repository.LotteryRecordRepository;
 import com.lottery.repository.ParticipantRepository;
 import com.lottery.repository.PrizeRepository;
 import com.lottery.repository.RiggedSettingRepository;
+import com.lottery.repository.StagedDrawRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +48,24 @@ public class LotteryService {
     private final PrizeRepository prizeRepository;
     private final LotteryRecordRepository lotteryRecordRepository;
     private final RiggedSettingRepository riggedSettingRepository;
+    private final CandidatePool candidatePool;
+    private final DrawAlgorithm drawAlgorithm;
+    private final EpochService epochService;
+    private final RiggedIndex riggedIndex;
+    private final StagedDrawRepository stagedDrawRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LiveStatistics liveStatistics;
+
+    /**
+     * 已预抽、待提交的结果：奖项ID → 预抽结果（中奖人员已移出候选池）
+     */
+    private final Map<String, StagedPlan> stagedPlans = new ConcurrentHashMap<>();
+
+    /**
+     * 揭晓延迟：结果广播出去到各屏幕同时揭晓之间预留的时间
+     */
+    @Value("${lottery.draw.reveal-delay:1000}")
+    private long revealDelayMillis;
 
     /**
      * 执行抽奖
@@ -42,110 +76,357 @@ public class LotteryService {
      */
     @Transactional(rollbackFor = Exception.class)
     public LotteryResultDTO draw(String prizeId, String operator) {
+        return draw(prizeId, operator, DrawOptions.defaults());
+    }
+
+    /**
+     * 按指定选项执行抽奖
+     *
+     * @param prizeId 奖项ID
+     * @param operator 操作人
+     * @param options 抽奖选项
+     * @return 抽奖结果
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public LotteryResultDTO draw(String prizeId, String operator, DrawOptions options) {
+        // 已有预抽结果时直接提交（选项不一致时拒绝）
+        if (stagedPlans.containsKey(prizeId)) {
+            return commitStaged(prizeId, operator, options);
+        }
+
         // 1. 获取奖项信息
         Prize prize = prizeRepository.findById(prizeId)
                 .orElseThrow(() -> new RuntimeException("奖项不存在"));
 
-        // 2. 检查奖项状态
+        // 2. 抽取中奖人员
+        List<DrawPlan> plans = new ArrayList<>();
+        registerRollback(plans);
+        plans.add(selectWinners(prize, options));
+
+        // 3. 持久化并构造返回结果
+        LocalDateTime drawTime = LocalDateTime.now();
+        persist(plans, operator, drawTime);
+        return publish(buildLotteryResult(plans.get(0), drawTime));
+    }
+
+    /**
+     * 批量抽奖：按给定顺序依次抽取多个奖项
+     * <p>
+     * 所有奖项基于同一个候选池依次抽取（前一个奖项的中奖人不会进入后一个奖项），
+     * 在同一个事务中批量写入，任一奖项失败则全部回滚。
+     *
+     * @param prizeIds 奖项ID（按抽取顺序）
+     * @param operator 操作人
+     * @param options 抽奖选项（对每个奖项生效）
+     * @return 各奖项抽奖结果，顺序与 prizeIds 一致
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<LotteryResultDTO> drawBatch(List<String> prizeIds, String operator, DrawOptions options) {
+        if (prizeIds == null || prizeIds.isEmpty()) {
+            throw new RuntimeException("请选择要抽取的奖项");
+        }
+        if (prizeIds.stream().distinct().count() != prizeIds.size()) {
+            throw new RuntimeException("奖项不能重复");
+        }
+
+        // 批量抽奖不使用预抽结果
+        prizeIds.forEach(this::discardStaged);
+
+        // 1. 一次查询所有奖项
+        Map<String, Prize> prizes = prizeRepository.findAllById(prizeIds).stream()
+                .collect(Collectors.toMap(Prize::getId, prize -> prize));
+
+        // 2. 依次抽取
+        List<DrawPlan> plans = new ArrayList<>(prizeIds.size());
+        registerRollback(plans);
+        for (String prizeId : prizeIds) {
+            Prize prize = prizes.get(prizeId);
+            if (prize == null) {
+                throw new RuntimeException("奖项不存在：" + prizeId);
+            }
+            plans.add(selectWinners(prize, options));
+        }
+
+        // 3. 一次性持久化
+        LocalDateTime drawTime = LocalDateTime.now();
+        persist(plans, operator, drawTime);
+
+        log.info("批量抽奖完成：{}个奖项，共{}人中奖", plans.size(),
+                plans.stream().mapToInt(plan -> plan.winners.size()).sum());
+        return plans.stream()
+                .map(plan -> publish(buildLotteryResult(plan, drawTime)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 预抽：开始抽奖时预先抽出该奖项的全部剩余名额并持久化
+     * <p>
+     * 中奖人员移出候选池（对其他奖项不可见），停止抽奖时 {@link #commitStaged} 只需批量写入结果，
+     * 揭晓不再等待抽奖计算。重复预抽同一奖项会先作废旧结果。
+     * <p>
+     * 中奖状态和抽奖记录不在滚动期间写入：否则揭晓前中奖名单会通过记录查询、导出、名单和统计提前暴露，
+     * 作废预抽（作弊设置变化、切换奖项）时还要逐条补偿已写的数据。停止时只剩一次批量写入（几条语句）。
+     *
+     * @param prizeId 奖项ID
+     * @param operator 操作人
+     * @param options 抽奖选项（停止时须一致）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void stageDraw(String prizeId, String operator, DrawOptions options) {
+        discardStaged(prizeId);
+
+        Prize prize = prizeRepository.findById(prizeId)
+                .orElseThrow(() -> new RuntimeException("奖项不存在"));
+        List<DrawPlan> plans = new ArrayList<>();
+        registerRollback(plans);
+        DrawPlan plan = selectWinners(prize, options);
+        plans.add(plan);
+
+        StagedDraw staged = new StagedDraw();
+        staged.setPrizeId(prize.getId());
+        staged.setPrizeName(prize.getName());
+        staged.setWinnerIds(plan.winners.stream().map(Participant::getId).collect(Collectors.joining(",")));
+        staged.setDrawMode(options.getMode());
+        staged.setMaxPerDepartment(options.getMaxPerDepartment());
+        staged.setProportional(options.isProportional());
+        staged.setOperator(operator);
+        staged.setGeneration(epochService.current());
+        stagedDrawRepository.save(staged);
+
+        TransactionHooks.afterCommit(() -> stagedPlans.put(prizeId, new StagedPlan(staged.getId(), plan, options)));
+        log.info("预抽完成：{}，{}人，模式{}", prize.getName(), plan.winners.size(), options.getMode());
+    }
+
+    /**
+     * 提交预抽结果；没有预抽结果或奖项已变化时按同一选项现场抽取
+     *
+     * @param prizeId 奖项ID
+     * @param operator 操作人
+     * @param options 抽奖选项，须与预抽时一致
+     * @return 抽奖结果
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public LotteryResultDTO commitStaged(String prizeId, String operator, DrawOptions options) {
+        StagedPlan current = stagedPlans.get(prizeId);
+        if (current != null && !current.options.equals(options)) {
+            throw new RuntimeException("该奖项正在按" + current.options.getMode() + "模式抽奖，抽奖选项不一致");
+        }
+        StagedPlan staged = stagedPlans.remove(prizeId);
+        if (staged == null) {
+            return draw(prizeId, operator, options);
+        }
+
+        // 预抽之后奖项可能被撤销/修改过，以最新数据为准
+        Prize prize = prizeRepository.findById(prizeId).orElse(null);
+        if (prize == null || "COMPLETED".equals(prize.getStatus())
+                || prize.getCount() - prize.getDrawnCount() != staged.plan.winners.size()) {
+            releaseStaged(staged);
+            return draw(prizeId, operator, options);
+        }
+
+        List<DrawPlan> plans = new ArrayList<>();
+        registerRollback(plans);
+        plans.add(new DrawPlan(prize, staged.plan.winners, staged.plan.riggedSettings));
+
+        LocalDateTime drawTime = LocalDateTime.now();
+        persist(plans, operator, drawTime);
+        stagedDrawRepository.updateStatus(staged.stagedId, "COMMITTED", drawTime);
+        return publish(buildLotteryResult(plans.get(0), drawTime));
+    }
+
+    /**
+     * 作废某奖项的预抽结果，中奖人员放回候选池
+     * <p>
+     * 作废独立提交（外部调用时新开事务），可在其他事务提交后的回调里调用。
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void discardStaged(String prizeId) {
+        StagedPlan staged = stagedPlans.remove(prizeId);
+        if (staged != null) {
+            releaseStaged(staged);
+            log.info("预抽结果已作废：{}", staged.plan.prize.getName());
+        }
+    }
+
+    /**
+     * 启动时恢复未提交的预抽结果
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeStaged() {
+        for (StagedDraw staged : stagedDrawRepository.findByGenerationAndStatus(epochService.current(), "STAGED")) {
+            Prize prize = prizeRepository.findById(staged.getPrizeId()).orElse(null);
+            List<String> winnerIds = Arrays.asList(staged.getWinnerIds().split(","));
+            List<Participant> winners = new ArrayList<>(winnerIds.size());
+            for (String winnerId : winnerIds) {
+                Participant winner = candidatePool.remove(winnerId);
+                if (winner != null) {
+                    winners.add(winner);
+                }
+            }
+            if (prize == null || stagedPlans.containsKey(prize.getId()) || winners.size() != winnerIds.size()) {
+                candidatePool.addAll(winners);
+                stagedDrawRepository.updateStatus(staged.getId(), "DISCARDED", LocalDateTime.now());
+                continue;
+            }
+            DrawPlan plan = new DrawPlan(prize, winners, riggedIndex.forPrize(prize.getId()));
+            DrawOptions options = DrawOptions.of(staged.getDrawMode(), staged.getMaxPerDepartment(),
+                    staged.getProportional());
+            stagedPlans.put(prize.getId(), new StagedPlan(staged.getId(), plan, options));
+            log.info("已恢复预抽结果：{}，{}人", prize.getName(), winners.size());
+        }
+    }
+
+    private void releaseStaged(StagedPlan staged) {
+        candidatePool.addAll(staged.plan.winners);
+        stagedDrawRepository.updateStatus(staged.stagedId, "DISCARDED", LocalDateTime.now());
+    }
+
+    /**
+     * 校验奖项并从候选池抽取中奖人员（中奖人员已移出候选池）
+     */
+    private DrawPlan selectWinners(Prize prize, DrawOptions options) {
+        // 1. 检查奖项状态
         if ("COMPLETED".equals(prize.getStatus())) {
-            throw new RuntimeException("该奖项已抽取完毕");
+            throw new RuntimeException(prize.getName() + "已抽取完毕");
         }
 
-        // 3. 检查是否还有名额
+        // 2. 检查是否还有名额
         int remainingCount = prize.getCount() - prize.getDrawnCount();
         if (remainingCount <= 0) {
-            throw new RuntimeException("该奖项已无剩余名额");
+            throw new RuntimeException(prize.getName() + "已无剩余名额");
         }
 
-        // 4. 获取可用人员池（状态为AVAILABLE）
-        List<Participant> availableParticipants = participantRepository.findByStatus("AVAILABLE");
-        if (availableParticipants.isEmpty()) {
+        // 3. 检查候选池（常驻内存，不再查询数据库）
+        int availableCount = candidatePool.size();
+        if (availableCount == 0) {
             throw new RuntimeException("没有可参与抽奖的人员");
         }
 
-        if (availableParticipants.size() < remainingCount) {
+        if (availableCount < remainingCount) {
             throw new RuntimeException("可用人员不足，请减少中奖人数");
         }
 
-        // 5. 获取作弊设置（该奖项的待生效设置）
-        List<RiggedSetting> riggedSettings = riggedSettingRepository
-                .findByPrizeIdAndStatus(prizeId, "PENDING");
+        // 4. 获取作弊设置（该奖项的待生效设置，参与人ID → 设置）
+        Map<String, RiggedSetting> riggedSettings = riggedIndex.forPrize(prize.getId());
 
-        // 6. 执行抽奖算法
-        List<Participant> winners = performDraw(availableParticipants, remainingCount, riggedSettings);
+        // 5. 执行抽奖算法
+        List<Participant> winners = performDraw(remainingCount, riggedSettings, options);
+        return new DrawPlan(prize, winners, riggedSettings);
+    }
 
-        // 7. 更新人员状态
-        LocalDateTime drawTime = LocalDateTime.now();
-        for (Participant winner : winners) {
-            winner.setStatus("WON");
-            winner.setWonPrizeId(prizeId);
-            winner.setWonPrizeName(prize.getName());
-            winner.setWonTime(drawTime);
-            participantRepository.save(winner);
-        }
+    /**
+     * 事务回滚时把已抽出的人员放回候选池
+     */
+    private void registerRollback(List<DrawPlan> plans) {
+        TransactionHooks.afterRollback(() -> {
+            List<String> winnerIds = plans.stream()
+                    .flatMap(plan -> plan.winners.stream())
+                    .map(Participant::getId)
+                    .collect(Collectors.toList());
+            if (!winnerIds.isEmpty()) {
+                candidatePool.addAll(participantRepository.findAllById(winnerIds));
+            }
+        });
+    }
 
-        // 8. 更新奖项状态
-        prize.setDrawnCount(prize.getDrawnCount() + winners.size());
-        if (prize.getDrawnCount() >= prize.getCount()) {
-            prize.setStatus("COMPLETED");
-        }
-        prize.setDrawTime(drawTime);
-        prizeRepository.save(prize);
-
-        // 9. 记录抽奖日志
-        for (Participant winner : winners) {
-            LotteryRecord record = new LotteryRecord();
-            record.setPrizeId(prizeId);
-            record.setPrizeName(prize.getName());
-            record.setPrizeLevel(prize.getLevel());
-            record.setParticipantId(winner.getId());
-            record.setParticipantName(winner.getName());
-
-            // 检查是否是作弊中奖
-            boolean isRigged = riggedSettings.stream()
-                    .anyMatch(r -> r.getParticipantId().equals(winner.getId()));
-            record.setAction(isRigged ? "RIGGED" : "DRAW");
-            record.setOperator(operator);
-            record.setDrawTime(drawTime);
-
-            lotteryRecordRepository.save(record);
-        }
+    /**
+     * 批量写入抽奖结果：每个奖项一条人员UPDATE，记录批量INSERT，作弊设置一条UPDATE
+     */
+    private void persist(List<DrawPlan> plans, String operator, LocalDateTime drawTime) {
+        long generation = epochService.current();
+        List<Prize> prizes = new ArrayList<>(plans.size());
+        List<LotteryRecord> records = new ArrayList<>();
+        List<String> usedSettingIds = new ArrayList<>();
+
+        for (DrawPlan plan : plans) {
+            Prize prize = plan.prize;
+            List<Participant> winners = plan.winners;
+
+            // 1. 更新人员状态（单条批量UPDATE）
+            List<String> winnerIds = new ArrayList<>(winners.size());
+            for (Participant winner : winners) {
+                winner.setStatus("WON");
+                winner.setWonPrizeId(prize.getId());
+                winner.setWonPrizeName(prize.getName());
+                winner.setWonTime(drawTime);
+                winnerIds.add(winner.getId());
+            }
+            int updated = participantRepository.markWon(winnerIds, prize.getId(), prize.getName(), drawTime);
+            if (updated != winners.size()) {
+                throw new RuntimeException("中奖人员状态已变化，请重新抽奖");
+            }
 
-        // 10. 更新作弊设置状态
-        for (RiggedSetting setting : riggedSettings) {
-            if (winners.stream().anyMatch(w -> w.getId().equals(setting.getParticipantId()))) {
-                setting.setStatus("USED");
-                setting.setUsedTime(drawTime);
-                riggedSettingRepository.save(setting);
+            // 2. 更新奖项状态
+            boolean wasCompleted = "COMPLETED".equals(prize.getStatus());
+            prize.setDrawnCount(prize.getDrawnCount() + winners.size());
+            if (prize.getDrawnCount() >= prize.getCount()) {
+                prize.setStatus("COMPLETED");
+            }
+            boolean completed = !wasCompleted && "COMPLETED".equals(prize.getStatus());
+            TransactionHooks.afterCommit(() -> {
+                liveStatistics.participantsWon(winners);
+                liveStatistics.prizeDrawn(winners.size(), completed);
+            });
+            prize.setDrawTime(drawTime);
+            prizes.add(prize);
+
+            // 3. 记录抽奖日志
+            List<String> riggedWinnerIds = new ArrayList<>();
+            for (Participant winner : winners) {
+                LotteryRecord record = new LotteryRecord();
+                record.setPrizeId(prize.getId());
+                record.setPrizeName(prize.getName());
+                record.setPrizeLevel(prize.getLevel());
+                record.setParticipantId(winner.getId());
+                record.setParticipantName(winner.getName());
+
+                // 检查是否是作弊中奖
+                RiggedSetting setting = plan.riggedSettings.get(winner.getId());
+                record.setAction(setting != null ? "RIGGED" : "DRAW");
+                record.setOperator(operator);
+                record.setDrawTime(drawTime);
+                record.setGeneration(generation);
+                records.add(record);
+
+                if (setting != null) {
+                    usedSettingIds.add(setting.getId());
+                    riggedWinnerIds.add(winner.getId());
+                }
+            }
+            if (!riggedWinnerIds.isEmpty()) {
+                TransactionHooks.afterCommit(() -> riggedIndex.removeAll(prize.getId(), riggedWinnerIds));
             }
         }
 
-        // 11. 构造返回结果
-        return buildLotteryResult(prize, winners, riggedSettings, drawTime);
+        // 4. 批量写入奖项、记录和作弊设置状态
+        prizeRepository.saveAll(prizes);
+        lotteryRecordRepository.saveAll(records);
+        if (!usedSettingIds.isEmpty()) {
+            riggedSettingRepository.markUsed(usedSettingIds, drawTime);
+        }
     }
 
     /**
-     * 执行抽奖算法（Fisher-Yates洗牌算法）
+     * 执行抽奖算法（默认部分Fisher-Yates洗牌，O(k)），中奖人员会被移出候选池
      *
-     * @param candidates 候选人
      * @param count 需要抽取的人数
-     * @param riggedSettings 作弊设置
+     * @param riggedSettings 作弊设置（参与人ID → 设置）
+     * @param options 抽奖选项
      * @return 中奖人员
      */
-    private List<Participant> performDraw(List<Participant> candidates, int count,
-                                          List<RiggedSetting> riggedSettings) {
+    private List<Participant> performDraw(int count, Map<String, RiggedSetting> riggedSettings,
+                                          DrawOptions options) {
         List<Participant> winners = new ArrayList<>();
 
-        // 1. 先处理作弊设置（必中人员）
-        for (RiggedSetting setting : riggedSettings) {
-            Participant riggedParticipant = candidates.stream()
-                    .filter(p -> p.getId().equals(setting.getParticipantId()))
-                    .findFirst()
-                    .orElse(null);
+        // 1. 先处理作弊设置（必中人员，不超过剩余名额）
+        for (RiggedSetting setting : riggedSettings.values()) {
+            if (winners.size() >= count) {
+                break;
+            }
+            Participant riggedParticipant = candidatePool.remove(setting.getParticipantId());
 
             if (riggedParticipant != null) {
                 winners.add(riggedParticipant);
-                candidates.remove(riggedParticipant);
                 log.info("作弊设置生效：{} 必中 {}",
                         riggedParticipant.getName(), setting.getPrizeName());
             }
@@ -157,26 +438,55 @@ public class LotteryService {
             return winners;
         }
 
-        // 3. 使用Fisher-Yates算法随机抽取剩余名额
-        List<Participant> randomWinners = RandomUtil.randomEleList(candidates, remainCount);
-        winners.addAll(randomWinners);
+        // 3. 随机抽取剩余名额（失败时把已移出的作弊人员放回候选池）
+        try {
+            winners.addAll(takeRandom(remainCount, winners, options));
+        } catch (RuntimeException e) {
+            candidatePool.addAll(winners);
+            throw e;
+        }
 
         return winners;
     }
 
+    /**
+     * 按抽奖模式从候选池随机抽取
+     *
+     * @param count 抽取人数
+     * @param preselected 已确定的中奖人员（作弊设置）
+     * @param options 抽奖选项
+     */
+    private List<Participant> takeRandom(int count, List<Participant> preselected, DrawOptions options) {
+        String mode = DrawOptions.checkMode(options.getMode());
+        if (DrawOptions.MODE_WEIGHTED.equals(mode)) {
+            return candidatePool.takeWeighted(count);
+        }
+        if (DrawOptions.MODE_TICKET.equals(mode)) {
+            return candidatePool.takeByTickets(count);
+        }
+        if (DrawOptions.MODE_STRATIFIED.equals(mode)) {
+            Map<String, Integer> occupied = new HashMap<>();
+            for (Participant winner : preselected) {
+                occupied.merge(CandidatePool.departmentOf(winner), 1, Integer::sum);
+            }
+            return candidatePool.takeStratified(count, options.getMaxPerDepartment(),
+                    options.isProportional(), occupied, drawAlgorithm);
+        }
+        return candidatePool.take(count, drawAlgorithm);
+    }
+
     /**
      * 构造抽奖结果DTO
      */
-    private LotteryResultDTO buildLotteryResult(Prize prize, List<Participant> winners,
-                                                List<RiggedSetting> riggedSettings,
-                                                LocalDateTime drawTime) {
+    private LotteryResultDTO buildLotteryResult(DrawPlan plan, LocalDateTime drawTime) {
+        Prize prize = plan.prize;
         LotteryResultDTO result = new LotteryResultDTO();
         result.setPrizeId(prize.getId());
         result.setPrizeName(prize.getName());
         result.setPrizeLevel(prize.getLevel());
         result.setDrawTime(drawTime);
 
-        List<LotteryResultDTO.WinnerDTO> winnerDTOs = winners.stream().map(winner -> {
+        List<LotteryResultDTO.WinnerDTO> winnerDTOs = plan.winners.stream().map(winner -> {
             LotteryResultDTO.WinnerDTO dto = new LotteryResultDTO.WinnerDTO();
             dto.setId(winner.getId());
             dto.setName(winner.getName());
@@ -184,9 +494,7 @@ public class LotteryService {
             dto.setDepartment(winner.getDepartment());
 
             // 标记是否是作弊中奖
-            boolean isRigged = riggedSettings.stream()
-                    .anyMatch(r -> r.getParticipantId().equals(winner.getId()));
-            dto.setIsRigged(isRigged);
+            dto.setIsRigged(plan.riggedSettings.containsKey(winner.getId()));
 
             return dto;
         }).collect(Collectors.toList());
@@ -195,6 +503,15 @@ public class LotteryService {
         return result;
     }
 
+    /**
+     * 设置揭晓时刻并发布抽奖完成事件（事务提交后广播）
+     */
+    private LotteryResultDTO publish(LotteryResultDTO result) {
+        result.setRevealAt(System.currentTimeMillis() + revealDelayMillis);
+        eventPublisher.publishEvent(new DrawCompletedEvent(result));
+        return result;
+    }
+
     /**
      * 撤销中奖
      *
@@ -213,7 +530,8 @@ public class LotteryService {
 
         // 2. 查询中奖记录
         LotteryRecord record = lotteryRecordRepository
-                .findFirstByParticipantIdAndIsCancelledOrderByDrawTimeDesc(participantId, false)
+                .findFirstByGenerationAndParticipantIdAndIsCancelledOrderByDrawTimeDesc(
+                        epochService.current(), participantId, false)
                 .orElseThrow(() -> new RuntimeException("未找到中奖记录"));
 
         // 3. 更新记录状态
@@ -226,52 +544,92 @@ public class LotteryService {
         participant.setWonPrizeId(null);
         participant.setWonPrizeName(null);
         participant.setWonTime(null);
-        participantRepository.save(participant);
+        Participant restored = participantRepository.save(participant);
+        TransactionHooks.afterCommit(() -> {
+            candidatePool.add(restored);
+            liveStatistics.participantRestored(restored);
+        });
 
         // 5. 更新奖项状态
         Prize prize = prizeRepository.findById(record.getPrizeId())
                 .orElse(null);
         if (prize != null) {
+            boolean wasCompleted = "COMPLETED".equals(prize.getStatus());
             prize.setDrawnCount(Math.max(0, prize.getDrawnCount() - 1));
             if (prize.getDrawnCount() < prize.getCount()) {
                 prize.setStatus("PENDING");
             }
+            boolean reopened = wasCompleted && "PENDING".equals(prize.getStatus());
+            TransactionHooks.afterCommit(() -> liveStatistics.prizeUndrawn(reopened));
             prizeRepository.save(prize);
         }
 
+        eventPublisher.publishEvent(new WinCancelledEvent(participant.getId(), participant.getName(),
+                record.getPrizeId(), record.getPrizeName(), operator));
         log.info("撤销中奖：{} 的 {} 已撤销", participant.getName(), record.getPrizeName());
     }
 
     /**
      * 重置系统
+     * <p>
+     * 人员和奖项各用一条批量UPDATE复位；抽奖记录和作弊设置通过推进代数整体失效，
+     * 由后台异步删除，耗时与数据量无关。
      */
     @Transactional(rollbackFor = Exception.class)
     public void reset() {
+        LocalDateTime now = LocalDateTime.now();
+
         // 1. 重置所有人员状态
-        List<Participant> allParticipants = participantRepository.findAll();
-        for (Participant participant : allParticipants) {
-            participant.setStatus("AVAILABLE");
-            participant.setWonPrizeId(null);
-            participant.setWonPrizeName(null);
-            participant.setWonTime(null);
-            participantRepository.save(participant);
-        }
+        int participants = participantRepository.resetAll(now);
 
         // 2. 重置所有奖项状态
-        List<Prize> allPrizes = prizeRepository.findAll();
-        for (Prize prize : allPrizes) {
-            prize.setStatus("PENDING");
-            prize.setDrawnCount(0);
-            prize.setDrawTime(null);
-            prizeRepository.save(prize);
-        }
+        int prizes = prizeRepository.resetAll(now);
+
+        // 3. 推进代数：旧的抽奖记录和作弊设置立即失效，后台清理
+        long generation = epochService.advance();
+
+        // 4. 作废所有预抽结果
+        stagedDrawRepository.discardAll(now);
+
+        // 5. 提交后重新加载候选池，清空作弊设置索引和预抽结果
+        TransactionHooks.afterCommit(() -> {
+            stagedPlans.clear();
+            candidatePool.reload();
+            riggedIndex.clear();
+            liveStatistics.reload();
+        });
 
-        // 3. 清空抽奖记录（可选：也可以保留记录）
-        lotteryRecordRepository.deleteAll();
+        eventPublisher.publishEvent(new SystemResetEvent(generation));
+        log.info("系统已重置，复位人员{}人、奖项{}个，当前代数{}", participants, prizes, generation);
+    }
 
-        // 4. 清空作弊设置
-        riggedSettingRepository.deleteAll();
+    /**
+     * 单个奖项的抽取结果（尚未持久化）
+     */
+    private static class DrawPlan {
+        private final Prize prize;
+        private final List<Participant> winners;
+        private final Map<String, RiggedSetting> riggedSettings;
+
+        DrawPlan(Prize prize, List<Participant> winners, Map<String, RiggedSetting> riggedSettings) {
+            this.prize = prize;
+            this.winners = winners;
+            this.riggedSettings = riggedSettings;
+        }
+    }
 
-        log.info("系统已重置");
+    /**
+     * 预抽结果
+     */
+    private static class StagedPlan {
+        private final String stagedId;
+        private final DrawPlan plan;
+        private final DrawOptions options;
+
+        StagedPlan(String stagedId, DrawPlan plan, DrawOptions options) {
+            this.stagedId = stagedId;
+            this.plan = plan;
+            this.options = options;
+        }
     }
 }
@@ -0,0 +1,45 @@
+package com.lottery.service;
+
+import com.lottery.common.TransactionHooks;
+import com.lottery.entity.Participant;
+import com.lottery.repository.ParticipantRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 人员批量写入
+ * <p>
+ * 每批一个事务、一次 saveAll（配合 hibernate.jdbc.batch_size 合并为批量INSERT），
+ * 事务结束即释放持久化上下文，导入过程中内存不随总行数增长。
+ * 调用方负责校验和去重。
+ */
+@Component
+@RequiredArgsConstructor
+public class ParticipantBatchWriter {
+
+    private final ParticipantRepository participantRepository;
+    private final CandidatePool candidatePool;
+    private final LiveStatistics liveStatistics;
+
+    /**
+     * 写入一批新人员
+     *
+     * @return 写入的人数
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int insert(List<Participant> participants) {
+        for (Participant participant : participants) {
+            participant.setStatus("AVAILABLE");
+            participant.setWeight(ParticipantService.normalizeWeight(participant.getWeight()));
+        }
+        List<Participant> saved = participantRepository.saveAll(participants);
+        TransactionHooks.afterCommit(() -> {
+            candidatePool.addAll(saved);
+            saved.forEach(liveStatistics::participantAdded);
+        });
+        return saved.size();
+    }
+}
@@ -1,13 +1,27 @@
 package com.lottery.service;
 
+import com.lottery.common.TransactionHooks;
+import com.lottery.dto.BulkResultDTO;
 import com.lottery.entity.Participant;
+import com.lottery.event.RosterChangedEvent;
 import com.lottery.repository.ParticipantRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 参与人员服务
@@ -17,7 +31,15 @@ import java.util.List;
 @Slf4j
 public class ParticipantService {
 
+    /**
+     * 每人券数上限；候选池总券数按 long 累加，百万人都取上限也不会溢出
+     */
+    static final int MAX_TICKETS = 1_000_000;
+
     private final ParticipantRepository participantRepository;
+    private final CandidatePool candidatePool;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LiveStatistics liveStatistics;
 
     /**
      * 查询所有人员
@@ -60,22 +82,168 @@ public class ParticipantService {
         }
 
         participant.setStatus("AVAILABLE");
-        return participantRepository.save(participant);
+        participant.setWeight(normalizeWeight(participant.getWeight()));
+        Participant saved = participantRepository.save(participant);
+        TransactionHooks.afterCommit(() -> {
+            candidatePool.add(saved);
+            liveStatistics.participantAdded(saved);
+        });
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.PARTICIPANT));
+        return saved;
     }
 
     /**
-     * 批量添加人员
+     * 批量添加人员（姓名已存在的跳过）
+     * <p>
+     * 一次查询已存在的姓名，其余一次 saveAll 批量写入。
      */
     @Transactional(rollbackFor = Exception.class)
     public void addBatch(List<Participant> participants) {
+        Set<String> names = participants.stream().map(Participant::getName).collect(Collectors.toSet());
+        Set<String> existing = participantRepository.findByNameIn(names).stream()
+                .map(Participant::getName)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<Participant> toSave = new ArrayList<>();
         for (Participant participant : participants) {
-            if (!participantRepository.existsByName(participant.getName())) {
+            if (existing.add(participant.getName())) {
                 participant.setStatus("AVAILABLE");
-                participantRepository.save(participant);
+                participant.setWeight(normalizeWeight(participant.getWeight()));
+                toSave.add(participant);
             } else {
                 log.warn("姓名重复，跳过：{}", participant.getName());
             }
         }
+
+        List<Participant> saved = participantRepository.saveAll(toSave);
+        TransactionHooks.afterCommit(() -> {
+            candidatePool.addAll(saved);
+            saved.forEach(liveStatistics::participantAdded);
+        });
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.PARTICIPANT));
+    }
+
+    /**
+     * 批量新增或更新人员
+     * <p>
+     * 有工号的按工号匹配，否则（或工号未匹配到时）按姓名匹配；匹配到的更新，未匹配到的新增。
+     * 已有人员用两条 IN 查询一次查出，新增一次 saveAll，更新在提交时由 JDBC 批量执行。
+     * 单项校验失败只记入结果，不影响其他项；改名不能占用请求前已存在的姓名。
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public BulkResultDTO upsertBatch(List<Participant> items) {
+        Set<String> employeeIds = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (Participant item : items) {
+            if (trimToNull(item.getEmployeeId()) != null) {
+                employeeIds.add(item.getEmployeeId().trim());
+            }
+            if (trimToNull(item.getName()) != null) {
+                names.add(item.getName().trim());
+            }
+        }
+        Map<String, Participant> byEmployeeId = new HashMap<>();
+        if (!employeeIds.isEmpty()) {
+            participantRepository.findByEmployeeIdIn(employeeIds)
+                    .forEach(participant -> byEmployeeId.putIfAbsent(participant.getEmployeeId(), participant));
+        }
+        Map<String, Participant> byName = new HashMap<>();
+        if (!names.isEmpty()) {
+            participantRepository.findByNameIn(names)
+                    .forEach(participant -> byName.put(participant.getName(), participant));
+        }
+
+        // 实体的 equals/hashCode 基于字段，修改后会变，按引用记录
+        BulkResultDTO result = new BulkResultDTO();
+        Set<String> seenKeys = new HashSet<>();
+        Map<Participant, BulkResultDTO.Item> created = new IdentityHashMap<>();
+        Map<Participant, String> updated = new IdentityHashMap<>();
+        for (Participant item : items) {
+            String name = trimToNull(item.getName());
+            String employeeId = trimToNull(item.getEmployeeId());
+            String key = employeeId != null ? employeeId : name;
+
+            String error = validate(name, employeeId, item.getDepartment());
+            if (error != null) {
+                result.failure(key, null, error);
+                continue;
+            }
+            if (!seenKeys.add(key)) {
+                result.failure(key, null, "请求中重复：" + key);
+                continue;
+            }
+
+            Participant existing = employeeId != null ? byEmployeeId.get(employeeId) : null;
+            Participant holder = byName.get(name);
+            if (existing == null && holder != null) {
+                if (employeeId != null && holder.getEmployeeId() != null && !employeeId.equals(holder.getEmployeeId())) {
+                    result.failure(key, holder.getId(), "姓名已被工号" + holder.getEmployeeId() + "使用");
+                    continue;
+                }
+                existing = holder;
+            } else if (existing != null && holder != null && holder != existing) {
+                result.failure(key, existing.getId(), "姓名已存在：" + name);
+                continue;
+            }
+
+            if (existing == null) {
+                Participant participant = new Participant();
+                participant.setName(name);
+                participant.setEmployeeId(employeeId);
+                participant.setDepartment(trimToNull(item.getDepartment()));
+                participant.setWeight(normalizeWeight(item.getWeight()));
+                participant.setStatus("AVAILABLE");
+                byName.put(name, participant);
+                if (employeeId != null) {
+                    byEmployeeId.put(employeeId, participant);
+                }
+                result.success(key, null, "CREATED");
+                created.put(participant, result.getItems().get(result.getItems().size() - 1));
+                continue;
+            }
+
+            if (updated.containsKey(existing) || created.containsKey(existing)) {
+                result.failure(key, existing.getId(), "与请求中其他项匹配到同一人员");
+                continue;
+            }
+            String oldDepartment = existing.getDepartment();
+            boolean changed = !name.equals(existing.getName())
+                    || (employeeId != null && !employeeId.equals(existing.getEmployeeId()))
+                    || !Objects.equals(trimToNull(item.getDepartment()), oldDepartment)
+                    || (item.getWeight() != null && normalizeWeight(item.getWeight()) != existing.getWeight());
+            if (!changed) {
+                result.success(key, existing.getId(), "UNCHANGED");
+                continue;
+            }
+            // 旧姓名不释放：同一请求内不能被其他项占用，避免提交时唯一约束冲突
+            byName.put(name, existing);
+            existing.setName(name);
+            if (employeeId != null) {
+                existing.setEmployeeId(employeeId);
+            }
+            existing.setDepartment(trimToNull(item.getDepartment()));
+            if (item.getWeight() != null) {
+                existing.setWeight(normalizeWeight(item.getWeight()));
+            }
+            updated.put(existing, oldDepartment);
+            result.success(key, existing.getId(), "UPDATED");
+        }
+
+        List<Participant> saved = participantRepository.saveAll(created.keySet());
+        created.forEach((participant, resultItem) -> resultItem.setId(participant.getId()));
+
+        if (!saved.isEmpty() || !updated.isEmpty()) {
+            TransactionHooks.afterCommit(() -> {
+                candidatePool.addAll(saved);
+                saved.forEach(liveStatistics::participantAdded);
+                updated.forEach((participant, oldDepartment) -> {
+                    candidatePool.update(participant);
+                    liveStatistics.participantMoved(oldDepartment, participant);
+                });
+            });
+            eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.PARTICIPANT));
+        }
+        return result;
     }
 
     /**
@@ -92,11 +260,35 @@ public class ParticipantService {
             }
         }
 
+        String oldDepartment = existing.getDepartment();
         existing.setName(participant.getName());
         existing.setEmployeeId(participant.getEmployeeId());
         existing.setDepartment(participant.getDepartment());
+        if (participant.getWeight() != null) {
+            existing.setWeight(normalizeWeight(participant.getWeight()));
+        }
 
-        return participantRepository.save(existing);
+        Participant saved = participantRepository.save(existing);
+        TransactionHooks.afterCommit(() -> {
+            candidatePool.update(saved);
+            liveStatistics.participantMoved(oldDepartment, saved);
+        });
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.PARTICIPANT));
+        return saved;
+    }
+
+    /**
+     * 增减券数（权重），结果至少为1
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public Participant addTickets(String id, int delta) {
+        Participant existing = findById(id);
+        // 按 long 计算，避免 int 溢出成负数后被归一成 1
+        long tickets = (long) normalizeWeight(existing.getWeight()) + delta;
+        existing.setWeight(normalizeWeight((int) Math.max(0, Math.min(tickets, MAX_TICKETS + 1L))));
+        Participant saved = participantRepository.save(existing);
+        TransactionHooks.afterCommit(() -> candidatePool.update(saved));
+        return saved;
     }
 
     /**
@@ -112,20 +304,141 @@ public class ParticipantService {
         }
 
         participantRepository.deleteById(id);
+        TransactionHooks.afterCommit(() -> {
+            candidatePool.remove(id);
+            liveStatistics.participantRemoved(participant);
+        });
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.PARTICIPANT));
     }
 
     /**
-     * 批量删除人员
+     * 批量删除人员（已中奖的不删除）
+     * <p>
+     * 一次 IN 查询得出逐项结果，再用一条 DELETE 删除全部可删人员。
      */
     @Transactional(rollbackFor = Exception.class)
-    public void deleteBatch(List<String> ids) {
+    public BulkResultDTO deleteBatch(List<String> ids) {
+        Map<String, Participant> found = findAllById(ids);
+
+        BulkResultDTO result = new BulkResultDTO();
+        Set<String> seen = new HashSet<>();
+        List<Participant> removed = new ArrayList<>();
         for (String id : ids) {
-            try {
-                delete(id);
-            } catch (Exception e) {
-                log.error("删除人员失败：{}", id, e);
+            Participant participant = found.get(id);
+            if (!seen.add(id)) {
+                result.failure(id, id, "请求中重复");
+            } else if (participant == null) {
+                result.failure(id, id, "人员不存在");
+            } else if ("WON".equals(participant.getStatus())) {
+                result.failure(id, id, "该人员已中奖，不能删除");
+            } else {
+                removed.add(participant);
+                result.success(id, id, "DELETED");
             }
         }
+        if (removed.isEmpty()) {
+            return result;
+        }
+
+        List<String> removedIds = removed.stream().map(Participant::getId).toList();
+        int deleted = participantRepository.deleteAvailable(removedIds);
+        if (deleted != removedIds.size()) {
+            throw new RuntimeException("部分人员状态已变化，请刷新后重试");
+        }
+        TransactionHooks.afterCommit(() -> {
+            candidatePool.removeAll(removedIds);
+            removed.forEach(liveStatistics::participantRemoved);
+        });
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.PARTICIPANT));
+        return result;
+    }
+
+    /**
+     * 批量调整部门
+     * <p>
+     * 一次 IN 查询得出逐项结果，再用一条 UPDATE 修改全部需调整的人员。
+     *
+     * @param department 新部门，为空表示清空部门
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public BulkResultDTO changeDepartment(List<String> ids, String department) {
+        String target = trimToNull(department);
+        if (target != null && target.length() > 50) {
+            throw new RuntimeException("部门名称过长");
+        }
+        Map<String, Participant> found = findAllById(ids);
+
+        BulkResultDTO result = new BulkResultDTO();
+        Set<String> seen = new HashSet<>();
+        Map<Participant, String> moved = new IdentityHashMap<>();
+        for (String id : ids) {
+            Participant participant = found.get(id);
+            if (!seen.add(id)) {
+                result.failure(id, id, "请求中重复");
+            } else if (participant == null) {
+                result.failure(id, id, "人员不存在");
+            } else if (Objects.equals(target, participant.getDepartment())) {
+                result.success(id, id, "UNCHANGED");
+            } else {
+                moved.put(participant, participant.getDepartment());
+                result.success(id, id, "MOVED");
+            }
+        }
+        if (moved.isEmpty()) {
+            return result;
+        }
+
+        List<String> movedIds = moved.keySet().stream().map(Participant::getId).toList();
+        int changed = participantRepository.updateDepartment(movedIds, target, LocalDateTime.now());
+        if (changed != movedIds.size()) {
+            throw new RuntimeException("部分人员已被删除，请刷新后重试");
+        }
+        // 批量更新后已加载的实体为游离状态，同步内存副本供候选池使用
+        moved.keySet().forEach(participant -> participant.setDepartment(target));
+        TransactionHooks.afterCommit(() -> moved.forEach((participant, oldDepartment) -> {
+            candidatePool.update(participant);
+            liveStatistics.participantMoved(oldDepartment, participant);
+        }));
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.PARTICIPANT));
+        return result;
+    }
+
+    private Map<String, Participant> findAllById(List<String> ids) {
+        return participantRepository.findAllById(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Participant::getId, Function.identity()));
+    }
+
+    /**
+     * 校验批量新增/更新的一项，返回错误信息，合格时返回null
+     */
+    private static String validate(String name, String employeeId, String department) {
+        if (name == null) {
+            return "姓名不能为空";
+        }
+        if (name.length() > 50) {
+            return "姓名过长";
+        }
+        if (employeeId != null && employeeId.length() > 20) {
+            return "工号过长";
+        }
+        if (department != null && department.trim().length() > 50) {
+            return "部门名称过长";
+        }
+        return null;
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * 权重至少为1，不超过 {@link #MAX_TICKETS}
+     */
+    static int normalizeWeight(Integer weight) {
+        if (weight != null && weight > MAX_TICKETS) {
+            throw new RuntimeException("券数不能超过" + MAX_TICKETS);
+        }
+        return weight == null || weight < 1 ? 1 : weight;
     }
 
     /**
@@ -139,17 +452,7 @@ public class ParticipantService {
      * 获取统计信息
      */
     public ParticipantStatistics getStatistics() {
-        long total = participantRepository.count();
-        long available = countByStatus("AVAILABLE");
-        long won = countByStatus("WON");
-
-        ParticipantStatistics stats = new ParticipantStatistics();
-        stats.setTotal(total);
-        stats.setAvailable(available);
-        stats.setWon(won);
-        stats.setWinRate(total > 0 ? (double) won / total * 100 : 0.0);
-
-        return stats;
+        return liveStatistics.participantStatistics();
     }
 
     /**
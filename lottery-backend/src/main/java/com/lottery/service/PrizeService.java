@@ -1,10 +1,16 @@
 package com.lottery.service;
 
+import com.lottery.common.Coalesce;
+import com.lottery.common.TransactionHooks;
+import com.lottery.config.CacheNames;
 import com.lottery.entity.Prize;
+import com.lottery.event.RosterChangedEvent;
 import com.lottery.repository.ParticipantRepository;
 import com.lottery.repository.PrizeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,10 +26,14 @@ public class PrizeService {
 
     private final PrizeRepository prizeRepository;
     private final ParticipantRepository participantRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LiveStatistics liveStatistics;
 
     /**
      * 查询所有奖项（按等级排序）
      */
+    @Coalesce
+    @Cacheable(CacheNames.PRIZES)
     public List<Prize> findAll() {
         return prizeRepository.findAllByOrderByLevelAsc();
     }
@@ -69,7 +79,10 @@ public class PrizeService {
 
         prize.setStatus("PENDING");
         prize.setDrawnCount(0);
-        return prizeRepository.save(prize);
+        Prize saved = prizeRepository.save(prize);
+        TransactionHooks.afterCommit(() -> liveStatistics.prizeAdded(saved));
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.PRIZE));
+        return saved;
     }
 
     /**
@@ -91,11 +104,14 @@ public class PrizeService {
             }
         }
 
+        int countDelta = prize.getCount() - existing.getCount();
         existing.setName(prize.getName());
         existing.setLevel(prize.getLevel());
         existing.setCount(prize.getCount());
         existing.setDescription(prize.getDescription());
 
+        TransactionHooks.afterCommit(() -> liveStatistics.prizeCountChanged(countDelta));
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.PRIZE));
         return prizeRepository.save(existing);
     }
 
@@ -112,11 +128,14 @@ public class PrizeService {
         }
 
         prizeRepository.deleteById(id);
+        TransactionHooks.afterCommit(() -> liveStatistics.prizeRemoved(prize));
+        eventPublisher.publishEvent(new RosterChangedEvent(RosterChangedEvent.PRIZE));
     }
 
     /**
      * 获取下一个待抽取的奖项（按等级从高到低）
      */
+    @Cacheable(CacheNames.NEXT_PENDING_PRIZE)
     public Prize getNextPendingPrize() {
         List<Prize> pendingPrizes = prizeRepository.findByStatus("PENDING");
         if (pendingPrizes.isEmpty()) {
@@ -133,28 +152,7 @@ public class PrizeService {
      * 统计信息
      */
     public PrizeStatistics getStatistics() {
-        long total = prizeRepository.count();
-        long pending = prizeRepository.countByStatus("PENDING");
-        long completed = prizeRepository.countByStatus("COMPLETED");
-
-        // 计算总奖品数
-        List<Prize> allPrizes = prizeRepository.findAll();
-        int totalWinnerSlots = allPrizes.stream()
-                .mapToInt(Prize::getCount)
-                .sum();
-
-        int totalDrawn = allPrizes.stream()
-                .mapToInt(Prize::getDrawnCount)
-                .sum();
-
-        PrizeStatistics stats = new PrizeStatistics();
-        stats.setTotalPrizes(total);
-        stats.setPendingPrizes(pending);
-        stats.setCompletedPrizes(completed);
-        stats.setTotalWinnerSlots(totalWinnerSlots);
-        stats.setTotalDrawn(totalDrawn);
-
-        return stats;
+        return liveStatistics.prizeStatistics();
     }
 
     /**
@@ -0,0 +1,93 @@
+package com.lottery.service;
+
+import com.lottery.entity.RiggedSetting;
+import com.lottery.repository.RiggedSettingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 作弊设置索引（常驻内存）
+ * <p>
+ * 按奖项保存待生效设置：奖项ID → (参与人ID → 设置)，抽奖时按参与人 O(1) 判断是否作弊中奖，
+ * 不再查询数据库。由作弊设置的创建/删除、抽奖和重置维护。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RiggedIndex {
+
+    private final RiggedSettingRepository riggedSettingRepository;
+    private final EpochService epochService;
+
+    private final Map<String, Map<String, RiggedSetting>> byPrize = new ConcurrentHashMap<>();
+
+    /**
+     * 启动时加载待生效设置
+     */
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * 从数据库重新加载当前代数的待生效设置
+     */
+    public synchronized void reload() {
+        List<RiggedSetting> pending = riggedSettingRepository
+                .findByGenerationAndStatus(epochService.current(), "PENDING");
+        byPrize.clear();
+        for (RiggedSetting setting : pending) {
+            add(setting);
+        }
+        log.info("作弊设置索引已加载，共{}条", pending.size());
+    }
+
+    /**
+     * 某奖项的待生效设置快照（参与人ID → 设置）
+     */
+    public Map<String, RiggedSetting> forPrize(String prizeId) {
+        Map<String, RiggedSetting> settings = byPrize.get(prizeId);
+        return settings == null ? Collections.emptyMap() : new HashMap<>(settings);
+    }
+
+    /**
+     * 加入索引
+     */
+    public void add(RiggedSetting setting) {
+        byPrize.computeIfAbsent(setting.getPrizeId(), k -> new ConcurrentHashMap<>())
+                .put(setting.getParticipantId(), setting);
+    }
+
+    /**
+     * 移出索引
+     */
+    public void remove(RiggedSetting setting) {
+        removeAll(setting.getPrizeId(), Collections.singleton(setting.getParticipantId()));
+    }
+
+    /**
+     * 批量移出某奖项下的设置
+     */
+    public void removeAll(String prizeId, Collection<String> participantIds) {
+        byPrize.computeIfPresent(prizeId, (k, settings) -> {
+            participantIds.forEach(settings::remove);
+            return settings.isEmpty() ? null : settings;
+        });
+    }
+
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        byPrize.clear();
+    }
+}
@@ -0,0 +1,113 @@
+package com.lottery.service;
+
+import com.lottery.common.TransactionHooks;
+import com.lottery.entity.Participant;
+import com.lottery.entity.Prize;
+import com.lottery.entity.RiggedSetting;
+import com.lottery.event.RigChangedEvent;
+import com.lottery.repository.RiggedSettingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 作弊设置服务
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RiggedSettingService {
+
+    private final RiggedSettingRepository riggedSettingRepository;
+    private final ParticipantService participantService;
+    private final PrizeService prizeService;
+    private final EpochService epochService;
+    private final RiggedIndex riggedIndex;
+    private final LotteryService lotteryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 查询当前所有作弊设置
+     */
+    public List<RiggedSetting> findAll() {
+        return riggedSettingRepository.findByGeneration(epochService.current());
+    }
+
+    /**
+     * 根据状态查询
+     */
+    public List<RiggedSetting> findByStatus(String status) {
+        return riggedSettingRepository.findByGenerationAndStatus(epochService.current(), status);
+    }
+
+    /**
+     * 创建作弊设置
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public RiggedSetting create(String participantId, String prizeId, String operator) {
+        // 查询参与人
+        Participant participant = participantService.findById(participantId);
+        if (!"AVAILABLE".equals(participant.getStatus())) {
+            throw new RuntimeException("该人员不可用");
+        }
+
+        // 查询奖项
+        Prize prize = prizeService.findById(prizeId);
+        if (!"PENDING".equals(prize.getStatus())) {
+            throw new RuntimeException("该奖项不可用");
+        }
+
+        // 检查是否已存在
+        if (riggedSettingRepository.existsByGenerationAndParticipantIdAndPrizeIdAndStatus(
+                epochService.current(), participantId, prizeId, "PENDING")) {
+            throw new RuntimeException("该设置已存在");
+        }
+
+        // 创建设置
+        RiggedSetting setting = new RiggedSetting();
+        setting.setParticipantId(participant.getId());
+        setting.setParticipantName(participant.getName());
+        setting.setPrizeId(prize.getId());
+        setting.setPrizeName(prize.getName());
+        setting.setPrizeLevel(prize.getLevel());
+        setting.setStatus("PENDING");
+        setting.setOperator(operator);
+        setting.setGeneration(epochService.current());
+
+        RiggedSetting saved = riggedSettingRepository.save(setting);
+        TransactionHooks.afterCommit(() -> {
+            riggedIndex.add(saved);
+            // 该奖项已有预抽结果时作废，停止时按新设置重新抽取
+            lotteryService.discardStaged(prizeId);
+        });
+
+        eventPublisher.publishEvent(new RigChangedEvent(RigChangedEvent.CREATED, saved.getId(), saved.getPrizeId()));
+        log.info("作弊设置：{} 必中 {}", saved.getParticipantName(), saved.getPrizeName());
+        return saved;
+    }
+
+    /**
+     * 删除作弊设置
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void delete(String id) {
+        RiggedSetting setting = riggedSettingRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("设置不存在"));
+
+        if ("USED".equals(setting.getStatus())) {
+            throw new RuntimeException("该设置已生效，不能删除");
+        }
+
+        riggedSettingRepository.deleteById(id);
+        TransactionHooks.afterCommit(() -> {
+            riggedIndex.remove(setting);
+            // 预抽结果可能包含该必中人员，作废后停止时按剩余设置重新抽取
+            lotteryService.discardStaged(setting.getPrizeId());
+        });
+        eventPublisher.publishEvent(new RigChangedEvent(RigChangedEvent.DELETED, id, setting.getPrizeId()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.lottery.service;
+
+import com.lottery.event.TopicBroadcaster;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 服务端滚动帧推送（可选）
+ * <p>
+ * 开启后，滚动期间按固定帧率向 /topic/roll 推送名单下标，客户端只负责渲染，
+ * 不需要下载全部人员也不需要在浏览器里洗牌。
+ * <p>
+ * 帧格式为ASCII文本：{@code 名单版本|帧序号|下标,下标,...}。
+ * 每帧在预分配的下标数组和字节缓冲区中生成，只在发送时复制一次。
+ */
+@Component
+@Slf4j
+public class RollStreamer {
+
+    public static final String TOPIC_ROLL = "/topic/roll";
+
+    private final RosterService rosterService;
+    private final TopicBroadcaster topicBroadcaster;
+    private final TaskScheduler rollScheduler;
+    private final boolean enabled;
+    private final int fps;
+    private final int maxSlots;
+    private final long maxDurationMillis;
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    private ScheduledFuture<?> task;
+
+    public RollStreamer(RosterService rosterService,
+                        TopicBroadcaster topicBroadcaster,
+                        @Qualifier("rollScheduler") TaskScheduler rollScheduler,
+                        @Value("${lottery.roll.server-driven:false}") boolean enabled,
+                        @Value("${lottery.roll.fps:20}") int fps,
+                        @Value("${lottery.roll.max-slots:10}") int maxSlots,
+                        @Value("${lottery.roll.max-duration:120000}") long maxDurationMillis) {
+        this.rosterService = rosterService;
+        this.topicBroadcaster = topicBroadcaster;
+        this.rollScheduler = rollScheduler;
+        this.enabled = enabled;
+        this.fps = Math.max(1, fps);
+        this.maxSlots = Math.max(1, maxSlots);
+        this.maxDurationMillis = maxDurationMillis;
+    }
+
+    /**
+     * 开始推送滚动帧
+     *
+     * @param slots 同时滚动的名字个数（一般为本轮抽取人数）
+     * @return 是否以服务端滚动模式进行
+     */
+    public synchronized boolean start(int slots) {
+        stop();
+        if (!enabled) {
+            return false;
+        }
+        RosterService.Snapshot roster = rosterService.current();
+        int[] available = roster.getAvailable();
+        int size = available.length;
+        if (size == 0) {
+            return false;
+        }
+
+        Frame frame = new Frame(roster.getVersion(), available,
+                Math.min(Math.max(1, slots), Math.min(maxSlots, size)));
+        long deadline = System.currentTimeMillis() + maxDurationMillis;
+        task = rollScheduler.scheduleAtFixedRate(() -> {
+            if (System.currentTimeMillis() > deadline) {
+                stop();
+                return;
+            }
+            topicBroadcaster.sendRaw(TOPIC_ROLL, frame.next(random));
+        }, Duration.ofMillis(1000L / fps));
+        log.info("开始推送滚动帧：可滚动{}人，每帧{}个，{}帧/秒", size, frame.indices.length, fps);
+        return true;
+    }
+
+    /**
+     * 停止推送
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    /**
+     * 单轮滚动的帧生成器（只在调度线程中使用）
+     */
+    private static class Frame {
+
+        private final int[] available;
+        private final int[] indices;
+        private final byte[] buffer;
+        private final int prefixLength;
+        private long sequence;
+
+        Frame(long version, int[] available, int slots) {
+            this.available = available;
+            this.indices = new int[slots];
+            // 前缀 + 序号(最多19位) + 每个下标最多10位加分隔符
+            byte[] prefix = (version + "|").getBytes();
+            this.buffer = new byte[prefix.length + 20 + slots * 11];
+            System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+            this.prefixLength = prefix.length;
+        }
+
+        byte[] next(SplittableRandom random) {
+            // 同一帧内的名字不重复
+            for (int i = 0; i < indices.length; i++) {
+                int index;
+                do {
+                    index = available[random.nextInt(available.length)];
+                } while (contains(i, index));
+                indices[i] = index;
+            }
+
+            int position = writeNumber(sequence++, prefixLength);
+            buffer[position++] = '|';
+            for (int i = 0; i < indices.length; i++) {
+                if (i > 0) {
+                    buffer[position++] = ',';
+                }
+                position = writeNumber(indices[i], position);
+            }
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private boolean contains(int length, int index) {
+            for (int i = 0; i < length; i++) {
+                if (indices[i] == index) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int writeNumber(long value, int position) {
+            if (value == 0) {
+                buffer[position] = '0';
+                return position + 1;
+            }
+            int digits = 0;
+            for (long v = value; v > 0; v /= 10) {
+                digits++;
+            }
+            for (int i = position + digits - 1; i >= position; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            return position + digits;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.lottery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lottery.common.Result;
+import com.lottery.entity.Participant;
+import com.lottery.event.DrawCompletedEvent;
+import com.lottery.event.RosterChangedEvent;
+import com.lottery.event.SystemResetEvent;
+import com.lottery.event.WinCancelledEvent;
+import com.lottery.repository.ParticipantRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 大屏名单（唯一的名单缓存）
+ * <p>
+ * 只含 id、姓名、部门、状态，预先序列化成完整的 Result JSON 并gzip压缩，
+ * 人员或中奖状态变化后标记失效，下次请求时才重新生成。
+ * 大屏的人员列表和服务端滚动帧共用这一份名单：滚动帧只携带名单版本和下标。
+ * <p>
+ * 版本取名单内容的哈希（48位，JS数字可精确表示），同时作为 ETag；
+ * 内容不变则版本不变，重启后也一致，不会出现重启后版本从头计数、客户端拿旧名单对新下标的情况。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RosterService {
+
+    private final ParticipantRepository participantRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile boolean dirty = true;
+
+    private Snapshot snapshot;
+
+    /**
+     * 当前名单（必要时重新生成）
+     */
+    public synchronized Snapshot current() {
+        if (dirty || snapshot == null) {
+            // 先清标记，生成期间发生的变更会再次标记
+            dirty = false;
+            snapshot = build();
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRosterChanged(RosterChangedEvent event) {
+        dirty = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDrawCompleted(DrawCompletedEvent event) {
+        dirty = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWinCancelled(WinCancelledEvent event) {
+        dirty = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSystemReset(SystemResetEvent event) {
+        dirty = true;
+    }
+
+    private Snapshot build() {
+        List<Participant> participants = participantRepository.findAll(Sort.by("createdAt", "id"));
+        List<Entry> entries = participants.stream()
+                .map(p -> new Entry(p.getId(), p.getName(), p.getDepartment(), p.getStatus()))
+                .collect(Collectors.toList());
+        int[] available = new int[entries.size()];
+        int availableCount = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            if ("AVAILABLE".equals(entries.get(i).getStatus())) {
+                available[availableCount++] = i;
+            }
+        }
+
+        long version = contentVersion(entries);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(
+                    Result.success(Map.of("version", version, "participants", entries)));
+            byte[] gzip = gzip(json);
+            log.debug("名单已生成：版本{}，{}人，{}字节（压缩后{}字节）",
+                    version, entries.size(), json.length, gzip.length);
+            return new Snapshot(version, "\"roster-" + Long.toHexString(version) + "\"", json, gzip,
+                    Arrays.copyOf(available, availableCount));
+        } catch (IOException e) {
+            throw new RuntimeException("生成名单失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 名单内容哈希（SHA-256 取低48位）
+     */
+    static long contentVersion(List<Entry> entries) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Entry entry : entries) {
+                update(digest, entry.getId());
+                update(digest, entry.getName());
+                update(digest, entry.getDepartment());
+                update(digest, entry.getStatus());
+            }
+            return ByteBuffer.wrap(digest.digest()).getLong() & 0xFFFF_FFFF_FFFFL;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 名单条目
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Entry {
+        private String id;
+        private String name;
+        private String department;
+        private String status;
+    }
+
+    /**
+     * 预生成的名单
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+
+        /**
+         * 名单版本（内容哈希）
+         */
+        private final long version;
+
+        private final String etag;
+
+        /**
+         * 响应体（Result JSON）及其gzip压缩版本
+         */
+        private final byte[] json;
+        private final byte[] gzip;
+
+        /**
+         * 未中奖人员在名单中的下标（滚动帧只在这些下标中取）
+         */
+        private final int[] available;
+    }
+}
@@ -0,0 +1,75 @@
+package com.lottery.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static com.lottery.algorithm.DrawAlgorithmTest.chiSquare;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 别名表正确性：采样分布与权重成比例，权重为 0 的项不会被抽中
+ */
+class AliasTableTest {
+
+    @Test
+    void sampleFollowsWeights() {
+        double[] weights = {1, 2, 3, 4, 10, 0.5};
+        double sum = 20.5;
+        AliasTable table = new AliasTable(weights);
+        SplittableRandom random = new SplittableRandom(7);
+        int trials = 1_000_000;
+        long[] counts = new long[weights.length];
+        for (int t = 0; t < trials; t++) {
+            counts[table.sample(random)]++;
+        }
+
+        double statistic = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double expected = trials * weights[i] / sum;
+            double diff = counts[i] - expected;
+            statistic += diff * diff / expected;
+        }
+        // 自由度 5，p=0.001 的卡方临界值约 20.5
+        assertThat(statistic).isLessThan(20.5);
+    }
+
+    @Test
+    void equalWeightsAreUniform() {
+        int n = 10;
+        double[] weights = new double[n];
+        Arrays.fill(weights, 3);
+        AliasTable table = new AliasTable(weights);
+        SplittableRandom random = new SplittableRandom(11);
+        long[] counts = new long[n];
+        for (int t = 0; t < 200_000; t++) {
+            counts[table.sample(random)]++;
+        }
+        assertThat(chiSquare(counts, 200_000.0 / n)).isLessThan(27.9);
+    }
+
+    @Test
+    void zeroWeightIsNeverSampled() {
+        AliasTable table = new AliasTable(new double[]{0, 5, 0, 1, 0});
+        SplittableRandom random = new SplittableRandom(3);
+        for (int t = 0; t < 200_000; t++) {
+            assertThat(table.sample(random)).isIn(1, 3);
+        }
+    }
+
+    @Test
+    void singleItemAlwaysWins() {
+        AliasTable table = new AliasTable(new double[]{2});
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(table.sample(new SplittableRandom())).isZero();
+    }
+
+    @Test
+    void rejectsInvalidWeights() {
+        assertThatThrownBy(() -> new AliasTable(new double[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{1, -1})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{0, 0})).isInstanceOf(IllegalArgumentException.class);
+    }
+}
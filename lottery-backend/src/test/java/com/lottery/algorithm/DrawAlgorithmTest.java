@@ -0,0 +1,80 @@
+package com.lottery.algorithm;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 采样算法正确性：下标不重复、在范围内，且每个下标、每个揭晓位置都是均匀的
+ */
+class DrawAlgorithmTest {
+
+    static Stream<DrawAlgorithm> algorithms() {
+        return Stream.of(new FisherYatesDrawAlgorithm(), new FloydDrawAlgorithm());
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithms")
+    void sampleIsDistinctAndInRange(DrawAlgorithm algorithm) {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int n : new int[]{1, 2, 10, 1000, 1_000_000}) {
+            for (int k : new int[]{0, 1, n / 2, n}) {
+                int[] picked = algorithm.sample(n, k, random);
+                assertThat(picked).hasSize(k);
+                Set<Integer> seen = new HashSet<>();
+                for (int index : picked) {
+                    assertThat(index).isBetween(0, n - 1);
+                    assertThat(seen.add(index)).as("重复下标 %d", index).isTrue();
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithms")
+    void rejectsCountOutOfRange(DrawAlgorithm algorithm) {
+        SplittableRandom random = new SplittableRandom(1);
+        assertThatThrownBy(() -> algorithm.sample(5, 6, random)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> algorithm.sample(5, -1, random)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithms")
+    void everyIndexAndPositionIsUniform(DrawAlgorithm algorithm) {
+        int n = 10;
+        int k = 3;
+        int trials = 200_000;
+        long[] chosen = new long[n];
+        long[][] byPosition = new long[k][n];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int t = 0; t < trials; t++) {
+            int[] picked = algorithm.sample(n, k, random);
+            for (int position = 0; position < k; position++) {
+                chosen[picked[position]]++;
+                byPosition[position][picked[position]]++;
+            }
+        }
+
+        // 自由度 9，p=0.001 的卡方临界值约 27.9
+        assertThat(chiSquare(chosen, (double) trials * k / n)).isLessThan(27.9);
+        for (long[] counts : byPosition) {
+            assertThat(chiSquare(counts, (double) trials / n)).isLessThan(27.9);
+        }
+    }
+
+    static double chiSquare(long[] observed, double expected) {
+        double sum = 0;
+        for (long count : observed) {
+            double diff = count - expected;
+            sum += diff * diff / expected;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,95 @@
+package com.lottery.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 树状数组正确性：随机增删后与朴素数组的总和、定位结果一致
+ */
+class FenwickTreeTest {
+
+    @Test
+    void matchesNaiveArrayUnderRandomUpdates() {
+        int n = 257;
+        FenwickTree tree = new FenwickTree(n);
+        long[] naive = new long[n];
+        SplittableRandom random = new SplittableRandom(5);
+
+        for (int round = 0; round < 20_000; round++) {
+            int index = random.nextInt(n);
+            long value = random.nextInt(4) == 0 ? 0 : random.nextInt(1, 50);
+            tree.set(index, value);
+            naive[index] = value;
+
+            long total = 0;
+            for (long v : naive) {
+                total += v;
+            }
+            assertThat(tree.total()).isEqualTo(total);
+            assertThat(tree.get(index)).isEqualTo(value);
+            if (total > 0) {
+                long target = random.nextLong(total);
+                assertThat(tree.find(target)).isEqualTo(naiveFind(naive, target));
+            }
+        }
+    }
+
+    @Test
+    void findMapsEveryTicketToItsOwner() {
+        FenwickTree tree = new FenwickTree(5);
+        long[] values = {3, 0, 1, 0, 2};
+        for (int i = 0; i < values.length; i++) {
+            tree.set(i, values[i]);
+        }
+        int[] expected = {0, 0, 0, 2, 4, 4};
+        for (int ticket = 0; ticket < expected.length; ticket++) {
+            assertThat(tree.find(ticket)).isEqualTo(expected[ticket]);
+        }
+        assertThatThrownBy(() -> tree.find(6)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tree.find(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void growKeepsValues() {
+        FenwickTree tree = new FenwickTree(3);
+        tree.set(0, 1);
+        tree.set(2, 4);
+        tree.grow(10);
+        tree.set(9, 5);
+
+        assertThat(tree.capacity()).isEqualTo(10);
+        assertThat(tree.total()).isEqualTo(10);
+        assertThat(tree.find(0)).isZero();
+        assertThat(tree.find(1)).isEqualTo(2);
+        assertThat(tree.find(5)).isEqualTo(9);
+
+        tree.clear();
+        assertThat(tree.total()).isZero();
+        assertThat(tree.get(2)).isZero();
+    }
+
+    @Test
+    void totalDoesNotOverflowInt() {
+        FenwickTree tree = new FenwickTree(4);
+        for (int i = 0; i < 4; i++) {
+            tree.set(i, Integer.MAX_VALUE);
+        }
+        assertThat(tree.total()).isEqualTo(4L * Integer.MAX_VALUE);
+        assertThat(tree.find(3L * Integer.MAX_VALUE)).isEqualTo(3);
+    }
+
+    private static int naiveFind(long[] values, long target) {
+        long cumulative = 0;
+        for (int i = 0; i < values.length; i++) {
+            cumulative += values[i];
+            if (cumulative > target) {
+                return i;
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
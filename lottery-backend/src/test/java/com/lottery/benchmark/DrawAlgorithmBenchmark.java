@@ -0,0 +1,77 @@
+package com.lottery.benchmark;
+
+import cn.hutool.core.util.RandomUtil;
+import com.lottery.algorithm.DrawAlgorithm;
+import com.lottery.algorithm.FisherYatesDrawAlgorithm;
+import com.lottery.algorithm.FloydDrawAlgorithm;
+import com.lottery.entity.Participant;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 采样算法基准：对比原实现（复制候选列表、按对象删除作弊人员、RandomUtil.randomEleList）
+ * 与按下标采样的 Fisher-Yates / Floyd
+ * （运行方式见 package-info）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrawAlgorithmBenchmark {
+
+    @Param({"500", "10000", "1000000"})
+    private int candidates;
+
+    @Param({"10", "100"})
+    private int winners;
+
+    private List<Participant> pool;
+    private final DrawAlgorithm fisherYates = new FisherYatesDrawAlgorithm();
+    private final DrawAlgorithm floyd = new FloydDrawAlgorithm();
+    private final SplittableRandom random = new SplittableRandom();
+
+    @Setup
+    public void setUp() {
+        pool = new ArrayList<>(candidates);
+        for (int i = 0; i < candidates; i++) {
+            Participant participant = new Participant();
+            participant.setId("p" + i);
+            participant.setName("员工" + i);
+            pool.add(participant);
+        }
+    }
+
+    /**
+     * 原实现：每次抽奖得到一份新的候选列表，删除一个作弊人员后 randomEleList
+     */
+    @Benchmark
+    public List<Participant> baseline() {
+        List<Participant> list = new ArrayList<>(pool);
+        list.remove(pool.get(candidates / 2));
+        return RandomUtil.randomEleList(list, winners);
+    }
+
+    @Benchmark
+    public List<Participant> fisherYates() {
+        return pick(fisherYates.sample(candidates, winners, random));
+    }
+
+    @Benchmark
+    public List<Participant> floyd() {
+        return pick(floyd.sample(candidates, winners, random));
+    }
+
+    private List<Participant> pick(int[] indices) {
+        List<Participant> picked = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            picked.add(pool.get(index));
+        }
+        return picked;
+    }
+}
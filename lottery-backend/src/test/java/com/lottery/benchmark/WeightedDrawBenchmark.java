@@ -0,0 +1,98 @@
+package com.lottery.benchmark;
+
+import com.lottery.algorithm.AliasTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按权重抽奖基准：别名表（构建 O(n)、每次采样 O(1)）对比逐次累加权重的线性扫描（每次采样 O(n)）
+ * （运行方式见 package-info）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeightedDrawBenchmark {
+
+    @Param({"10000", "100000"})
+    private int candidates;
+
+    @Param({"10", "100"})
+    private int winners;
+
+    private double[] weights;
+    private AliasTable table;
+    private final SplittableRandom random = new SplittableRandom();
+
+    @Setup
+    public void setUp() {
+        weights = new double[candidates];
+        SplittableRandom seed = new SplittableRandom(1);
+        for (int i = 0; i < candidates; i++) {
+            weights[i] = 1 + seed.nextInt(10);
+        }
+        table = new AliasTable(weights);
+    }
+
+    @Benchmark
+    public AliasTable build() {
+        return new AliasTable(weights);
+    }
+
+    /**
+     * 单次采样（表已构建）
+     */
+    @Benchmark
+    public int sample() {
+        return table.sample(random);
+    }
+
+    /**
+     * 一轮抽奖：构建一次表，再按权重抽 winners 个不重复的人
+     */
+    @Benchmark
+    public int[] aliasDraw() {
+        AliasTable drawTable = new AliasTable(weights);
+        BitSet chosen = new BitSet(candidates);
+        int[] picked = new int[winners];
+        int taken = 0;
+        while (taken < winners) {
+            int index = drawTable.sample(random);
+            if (!chosen.get(index)) {
+                chosen.set(index);
+                picked[taken++] = index;
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * 对照：每抽一人都从头累加剩余权重定位
+     */
+    @Benchmark
+    public int[] linearScanDraw() {
+        double[] remaining = weights.clone();
+        double total = 0;
+        for (double weight : remaining) {
+            total += weight;
+        }
+        int[] picked = new int[winners];
+        for (int taken = 0; taken < winners; taken++) {
+            double target = random.nextDouble() * total;
+            int index = 0;
+            double cumulative = remaining[0];
+            while (cumulative <= target && index < candidates - 1) {
+                cumulative += remaining[++index];
+            }
+            picked[taken] = index;
+            total -= remaining[index];
+            remaining[index] = 0;
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * JMH 基准测试（不参与 mvn test）
+ * <p>
+ * 运行：
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test.cp
+ * java -cp "target/test-classes:target/classes:$(cat target/test.cp)" org.openjdk.jmh.Main DrawAlgorithmBenchmark
+ * </pre>
+ * 最后一个参数是基准类名（正则），可追加 JMH 参数，如 {@code -wi 2 -i 3 -f 1}。
+ * 导入解析基准 CsvImportBenchmark 需调用 service 包内方法，放在 com.lottery.service，运行方式相同。
+ */
+package com.lottery.benchmark;
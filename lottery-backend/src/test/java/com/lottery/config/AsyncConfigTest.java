@@ -0,0 +1,42 @@
+package com.lottery.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncConfigTest {
+
+    @Test
+    void eventExecutorRejectsInsteadOfBlockingWhenQueueIsFull() throws Exception {
+        ThreadPoolTaskExecutor executor = new AsyncConfig().eventExecutor(2);
+        executor.initialize();
+        CountDownLatch blocker = new CountDownLatch(1);
+        try {
+            // 一个执行中，两个排队，队列已满
+            for (int i = 0; i < 3; i++) {
+                executor.execute(() -> await(blocker));
+            }
+            long started = System.nanoTime();
+            assertThatThrownBy(() -> executor.execute(() -> { }))
+                    .isInstanceOf(TaskRejectedException.class);
+            // 提交线程（抽奖写线程）不等待
+            assertThat(System.nanoTime() - started).isLessThan(100_000_000L);
+        } finally {
+            blocker.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
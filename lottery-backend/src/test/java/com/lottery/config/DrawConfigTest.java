@@ -0,0 +1,24 @@
+package com.lottery.config;
+
+import com.lottery.algorithm.FisherYatesDrawAlgorithm;
+import com.lottery.algorithm.FloydDrawAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DrawConfigTest {
+
+    @Test
+    void knownAlgorithmNames() {
+        assertThat(DrawConfig.create("fisher-yates")).isInstanceOf(FisherYatesDrawAlgorithm.class);
+        assertThat(DrawConfig.create(" Floyd ")).isInstanceOf(FloydDrawAlgorithm.class);
+    }
+
+    @Test
+    void unknownAlgorithmNameFailsInsteadOfFallingBack() {
+        assertThatThrownBy(() -> DrawConfig.create("floyed"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("floyed");
+    }
+}
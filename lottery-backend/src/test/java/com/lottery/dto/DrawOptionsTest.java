@@ -0,0 +1,29 @@
+package com.lottery.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DrawOptionsTest {
+
+    @Test
+    void missingModeFallsBackToUniform() {
+        assertThat(DrawOptions.of(null, null, null).getMode()).isEqualTo(DrawOptions.MODE_UNIFORM);
+        assertThat(DrawOptions.of(" ", null, null).getMode()).isEqualTo(DrawOptions.MODE_UNIFORM);
+    }
+
+    @Test
+    void knownModeIsNormalized() {
+        assertThat(DrawOptions.of(" weighted ", null, null).getMode()).isEqualTo(DrawOptions.MODE_WEIGHTED);
+        DrawOptions options = DrawOptions.of("STRATIFIED", 2, true);
+        assertThat(options.getMaxPerDepartment()).isEqualTo(2);
+        assertThat(options.isProportional()).isTrue();
+    }
+
+    @Test
+    void unknownModeIsRejected() {
+        assertThatThrownBy(() -> DrawOptions.of("WEIGHTD", null, null))
+                .hasMessage("不支持的抽奖模式：WEIGHTD");
+    }
+}
@@ -0,0 +1,85 @@
+package com.lottery.event;
+
+import com.lottery.dto.LiveDeltaDTO;
+import com.lottery.dto.LotteryResultDTO;
+import com.lottery.service.LiveStateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DomainEventBroadcasterTest {
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private int capacity = Integer.MAX_VALUE;
+    private final TopicBroadcaster topicBroadcaster = mock(TopicBroadcaster.class);
+    private final LiveStateService liveStateService = mock(LiveStateService.class);
+    private final DomainEventBroadcaster broadcaster =
+            new DomainEventBroadcaster(topicBroadcaster, liveStateService, task -> {
+                if (queued.size() >= capacity) {
+                    throw new TaskRejectedException("队列已满");
+                }
+                queued.add(task);
+            });
+
+    @Test
+    void rosterChangesQueuedTogetherAreSentAsOneDelta() {
+        LiveDeltaDTO delta = new LiveDeltaDTO(1, LiveDeltaDTO.ROSTER, null);
+        when(liveStateService.applyRoster(any())).thenReturn(delta);
+
+        for (int i = 0; i < 5; i++) {
+            broadcaster.onRosterChanged(new RosterChangedEvent(RosterChangedEvent.PARTICIPANT));
+        }
+        broadcaster.onRosterChanged(new RosterChangedEvent(RosterChangedEvent.PRIZE));
+        assertThat(queued).hasSize(1);
+
+        drain();
+        verify(liveStateService).applyRoster(Set.of(RosterChangedEvent.PARTICIPANT, RosterChangedEvent.PRIZE));
+        verify(topicBroadcaster, times(1)).send(eq(DomainEventBroadcaster.TOPIC_STATE), eq(delta));
+
+        // 推送之后的变更重新排队
+        broadcaster.onRosterChanged(new RosterChangedEvent(RosterChangedEvent.PARTICIPANT));
+        assertThat(queued).hasSize(1);
+        drain();
+        verify(liveStateService).applyRoster(Set.of(RosterChangedEvent.PARTICIPANT));
+    }
+
+    @Test
+    void fullQueueDropsPushWithoutBlockingAndSendsResync() {
+        LiveDeltaDTO first = new LiveDeltaDTO(1, LiveDeltaDTO.DRAW, null);
+        LiveDeltaDTO second = new LiveDeltaDTO(2, LiveDeltaDTO.DRAW, null);
+        LiveDeltaDTO resync = new LiveDeltaDTO(3, LiveDeltaDTO.RESYNC, null);
+        when(liveStateService.applyDraw(any())).thenReturn(first, second);
+        when(liveStateService.resync()).thenReturn(resync);
+
+        capacity = 1;
+        broadcaster.onDrawCompleted(new DrawCompletedEvent(new LotteryResultDTO()));
+        // 队列已满：状态照常更新（取得序号），推送丢弃，提交线程立即返回
+        broadcaster.onDrawCompleted(new DrawCompletedEvent(new LotteryResultDTO()));
+        verify(liveStateService, times(2)).applyDraw(any());
+        assertThat(queued).hasSize(1);
+
+        drain();
+        verify(topicBroadcaster).send(DomainEventBroadcaster.TOPIC_STATE, first);
+        verify(topicBroadcaster, never()).send(DomainEventBroadcaster.TOPIC_STATE, second);
+        // 队列中的推送执行完后补发重新同步，只补一次
+        verify(topicBroadcaster, times(1)).send(DomainEventBroadcaster.TOPIC_STATE, resync);
+    }
+
+    private void drain() {
+        while (!queued.isEmpty()) {
+            queued.remove(0).run();
+        }
+    }
+}
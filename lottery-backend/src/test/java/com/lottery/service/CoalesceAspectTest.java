@@ -0,0 +1,30 @@
+package com.lottery.service;
+
+import com.lottery.config.CoalesceAspect;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalesceAspectTest extends IntegrationTestSupport {
+
+    @Autowired
+    private PrizeService prizeService;
+
+    @Autowired
+    private CoalesceAspect coalesceAspect;
+
+    @Test
+    void coalescedMethodIsCallableThroughTheProxy() {
+        createPrize(1, 3);
+        long before = callsOf("PrizeService.findAll");
+
+        assertThat(prizeService.findAll()).hasSize(1);
+        assertThat(callsOf("PrizeService.findAll")).isEqualTo(before + 1);
+    }
+
+    private long callsOf(String name) {
+        CoalesceAspect.Stats stats = coalesceAspect.stats().get(name);
+        return stats == null ? 0 : stats.getCalls();
+    }
+}
@@ -0,0 +1,119 @@
+package com.lottery.service;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.event.AnalysisEventListener;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 导入解析基准：同样的人员数据，CSV（{@link CsvImporter} 内存映射分块并行解析）对比 XLSX（EasyExcel 流式读取）
+ * <p>
+ * 只计读取解析，不含校验去重和写库；CsvImporter.scan 是包内方法，因此放在 service 包。
+ * （运行方式见 com.lottery.benchmark 的 package-info，基准类名为 CsvImportBenchmark）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvImportBenchmark {
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    /**
+     * 解析线程数，0 为CPU核数
+     */
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private Path dir;
+    private Path csv;
+    private Path xlsx;
+    private ThreadPoolTaskExecutor executor;
+    private CsvImporter csvImporter;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("csv-import-bench");
+        csv = dir.resolve("participants.csv");
+        xlsx = dir.resolve("participants.xlsx");
+
+        List<ExcelService.ParticipantExcel> data = new ArrayList<>(rows);
+        try (Writer writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write("姓名,工号,部门,券数\n");
+            for (int i = 0; i < rows; i++) {
+                ExcelService.ParticipantExcel row = new ExcelService.ParticipantExcel();
+                row.setName("员工" + i);
+                row.setEmployeeId("E" + i);
+                row.setDepartment("部门" + (i % 50));
+                row.setWeight(1 + i % 5);
+                data.add(row);
+                writer.write(row.getName() + "," + row.getEmployeeId() + "," + row.getDepartment() + ","
+                        + row.getWeight() + "\n");
+            }
+        }
+        EasyExcel.write(xlsx.toFile(), ExcelService.ParticipantExcel.class).sheet().doWrite(data);
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.initialize();
+        csvImporter = new CsvImporter(executor);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        executor.shutdown();
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(xlsx);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public int csv() throws IOException {
+        int[] count = new int[1];
+        csvImporter.scan(csv, new CsvImporter.RowHandler() {
+            @Override
+            public void estimated(int rows) {
+            }
+
+            @Override
+            public boolean row(int rowNum, CsvImporter.Row row) {
+                count[0]++;
+                return true;
+            }
+        });
+        return count[0];
+    }
+
+    @Benchmark
+    public int excel() {
+        int[] count = new int[1];
+        EasyExcel.read(xlsx.toFile(), ExcelService.ParticipantExcel.class,
+                new AnalysisEventListener<ExcelService.ParticipantExcel>() {
+                    @Override
+                    public void invoke(ExcelService.ParticipantExcel row, AnalysisContext context) {
+                        count[0]++;
+                    }
+
+                    @Override
+                    public void doAfterAllAnalysed(AnalysisContext context) {
+                    }
+                }).sheet().doRead();
+        return count[0];
+    }
+}
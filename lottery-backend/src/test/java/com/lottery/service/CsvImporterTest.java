@@ -0,0 +1,79 @@
+package com.lottery.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvImporterTest {
+
+    @TempDir
+    Path dir;
+
+    private ThreadPoolTaskExecutor executor;
+    private CsvImporter csvImporter;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(8);
+        executor.initialize();
+        csvImporter = new CsvImporter(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void rowsAcrossChunkBoundariesKeepTheirRowNumbers() throws IOException {
+        // 约 3MB，跨越多个块
+        int rows = 100_000;
+        Path csv = dir.resolve("participants.csv");
+        try (Writer writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write("姓名,工号,部门,券数\r\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write("员工" + i + ",E" + i + ",\"部门,\"\"" + (i % 7) + "\"\"\"," + (1 + i % 3) + "\r\n");
+            }
+        }
+
+        List<Integer> rowNums = new ArrayList<>();
+        List<CsvImporter.Row> parsed = new ArrayList<>();
+        csvImporter.scan(csv, new CsvImporter.RowHandler() {
+            @Override
+            public void estimated(int estimatedRows) {
+            }
+
+            @Override
+            public boolean row(int rowNum, CsvImporter.Row row) {
+                rowNums.add(rowNum);
+                parsed.add(row);
+                return true;
+            }
+        });
+
+        assertThat(parsed).hasSize(rows);
+        for (int i = 0; i < rows; i++) {
+            assertThat(rowNums.get(i)).isEqualTo(i + 2);
+            assertThat(parsed.get(i).name).isEqualTo("员工" + i);
+            assertThat(parsed.get(i).department).isEqualTo("部门,\"" + (i % 7) + "\"");
+            assertThat(parsed.get(i).weight).isEqualTo(1 + i % 3);
+        }
+        // 读取结束后不再占用文件（无内存映射），可立即删除
+        Files.delete(csv);
+    }
+}
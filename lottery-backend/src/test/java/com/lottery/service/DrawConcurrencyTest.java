@@ -0,0 +1,122 @@
+package com.lottery.service;
+
+import com.lottery.entity.LotteryRecord;
+import com.lottery.entity.Participant;
+import com.lottery.entity.Prize;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 并发压力测试：数百个抽奖/撤销请求同时经写线程提交，检查中奖数据的一致性
+ */
+class DrawConcurrencyTest extends IntegrationTestSupport {
+
+    private static final int PRIZES = 40;
+    private static final int REQUESTS = 400;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private EpochService epochService;
+
+    @Test
+    void parallelDrawsKeepInvariants() throws Exception {
+        seedParticipants(1_000, 8);
+        List<String> prizeIds = new ArrayList<>(PRIZES);
+        for (int i = 0; i < PRIZES; i++) {
+            prizeIds.add(createPrize(i + 1, 5 + i % 11).getId());
+        }
+
+        ConcurrentLinkedQueue<String> winnerIds = new ConcurrentLinkedQueue<>();
+        AtomicInteger succeeded = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int n = i;
+            pool.execute(() -> {
+                await(ready);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    // 约十分之一的请求撤销一个已中奖人员，让奖项重新开放
+                    String cancelId = n % 10 == 9 ? winnerIds.poll() : null;
+                    if (cancelId != null) {
+                        drawSequencer.run(() -> lotteryService.cancelWin(cancelId, "stress"));
+                        return;
+                    }
+                    String prizeId = prizeIds.get(random.nextInt(PRIZES));
+                    drawSequencer.call(() -> lotteryService.draw(prizeId, "stress"))
+                            .getWinners().forEach(winner -> winnerIds.add(winner.getId()));
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    // 奖项已抽完等业务异常是预期内的
+                }
+            });
+        }
+        ready.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        assertThat(succeeded.get()).isGreaterThan(PRIZES / 2);
+
+        long generation = epochService.current();
+        List<LotteryRecord> active = lotteryRecordRepository.findAll().stream()
+                .filter(record -> record.getGeneration() == generation && !record.getIsCancelled())
+                .collect(Collectors.toList());
+
+        // 1. 同一人不会有两条有效中奖记录
+        Set<String> recordWinners = new HashSet<>();
+        for (LotteryRecord record : active) {
+            assertThat(recordWinners.add(record.getParticipantId()))
+                    .as("重复中奖：%s", record.getParticipantName()).isTrue();
+        }
+
+        // 2. 奖项已抽人数等于有效记录数且不超过名额
+        Map<String, Long> recordsByPrize = active.stream()
+                .collect(Collectors.groupingBy(LotteryRecord::getPrizeId, Collectors.counting()));
+        for (Prize prize : prizeRepository.findAll()) {
+            assertThat(prize.getDrawnCount()).isLessThanOrEqualTo(prize.getCount());
+            assertThat(prize.getDrawnCount().longValue())
+                    .as(prize.getName()).isEqualTo(recordsByPrize.getOrDefault(prize.getId(), 0L));
+            assertThat("COMPLETED".equals(prize.getStatus()))
+                    .isEqualTo(prize.getDrawnCount().equals(prize.getCount()));
+        }
+
+        // 3. 人员中奖状态与记录一致，候选池恰好是未中奖人员
+        List<Participant> participants = participantRepository.findAll();
+        Set<String> wonIds = participants.stream()
+                .filter(participant -> "WON".equals(participant.getStatus()))
+                .map(Participant::getId)
+                .collect(Collectors.toSet());
+        assertThat(wonIds).isEqualTo(recordWinners);
+        for (LotteryRecord record : active) {
+            Participant winner = participants.stream()
+                    .filter(participant -> participant.getId().equals(record.getParticipantId()))
+                    .findFirst().orElseThrow();
+            assertThat(winner.getWonPrizeId()).isEqualTo(record.getPrizeId());
+        }
+        assertThat(candidatePool.size()).isEqualTo(participants.size() - wonIds.size());
+        assertThat(wonIds).noneMatch(candidatePool::contains);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
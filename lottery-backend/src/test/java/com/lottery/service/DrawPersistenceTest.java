@@ -0,0 +1,73 @@
+package com.lottery.service;
+
+import com.lottery.dto.DrawOptions;
+import com.lottery.dto.LotteryResultDTO;
+import com.lottery.entity.Prize;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 批量写入基准：200人奖项一次抽奖的语句数和提交耗时
+ * <p>
+ * 语句数用 Hibernate 统计（预编译语句数，批量执行的同一语句只计一次），
+ * 原实现每个中奖人各 save 一次人员和记录，约 2×200 条以上。
+ */
+class DrawPersistenceTest extends IntegrationTestSupport {
+
+    private static final int WINNERS = 200;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void twoHundredWinnerDrawUsesAHandfulOfStatements() {
+        seedParticipants(2_000, 10);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 预热一轮，排除首次执行的类加载和查询计划编译
+        lotteryService.draw(createPrize(9, WINNERS).getId(), "warmup");
+
+        Prize prize = createPrize(1, WINNERS);
+        statistics.clear();
+        long start = System.nanoTime();
+        LotteryResultDTO result = lotteryService.draw(prize.getId(), "benchmark");
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+
+        long statements = statistics.getPrepareStatementCount();
+        System.out.printf("200人抽奖：预编译语句 %d 条，插入 %d 行，更新 %d 行，事务 %d 个，耗时 %.1f ms%n",
+                statements, statistics.getEntityInsertCount(), statistics.getEntityUpdateCount(),
+                statistics.getTransactionCount(), elapsedMicros / 1000.0);
+
+        assertThat(result.getWinners()).hasSize(WINNERS);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(WINNERS);
+        // 查奖项 + 人员批量UPDATE + 奖项UPDATE + 记录批量INSERT，远少于逐条写入的 400+
+        assertThat(statements).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void committingStagedDrawOnlyWritesResults() {
+        seedParticipants(2_000, 10);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        lotteryService.draw(createPrize(9, WINNERS).getId(), "warmup");
+
+        Prize prize = createPrize(1, WINNERS);
+        long stageStart = System.nanoTime();
+        lotteryService.stageDraw(prize.getId(), "benchmark", DrawOptions.defaults());
+        long stageMicros = (System.nanoTime() - stageStart) / 1_000;
+
+        statistics.clear();
+        long start = System.nanoTime();
+        LotteryResultDTO result = lotteryService.commitStaged(prize.getId(), "benchmark", DrawOptions.defaults());
+        long commitMicros = (System.nanoTime() - start) / 1_000;
+
+        System.out.printf("200人预抽：预抽 %.1f ms；停止提交 %.1f ms，预编译语句 %d 条%n",
+                stageMicros / 1000.0, commitMicros / 1000.0, statistics.getPrepareStatementCount());
+        assertThat(result.getWinners()).hasSize(WINNERS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+}
@@ -0,0 +1,73 @@
+package com.lottery.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DrawSequencerTest {
+
+    private DrawSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        sequencer = new DrawSequencer(8, 200);
+        sequencer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.stop();
+    }
+
+    @Test
+    void queuedCommandIsCancelledOnTimeout() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        sequencer.submit(() -> await(blocker));
+
+        AtomicBoolean executed = new AtomicBoolean();
+        assertThatThrownBy(() -> sequencer.run(() -> executed.set(true)))
+                .hasMessageContaining("已取消");
+
+        blocker.countDown();
+        // 排在被取消操作之后的操作执行完，说明被取消的那个已出队
+        sequencer.submit(() -> { }).get(1, TimeUnit.SECONDS);
+        assertThat(executed).isFalse();
+    }
+
+    @Test
+    void runningCommandReturnsRealResultAfterTimeout() {
+        String result = sequencer.call(() -> {
+            sleep(500);
+            return "done";
+        });
+        assertThat(result).isEqualTo("done");
+    }
+
+    @Test
+    void nestedCallOnWriterThreadRunsInline() {
+        assertThat(sequencer.call(() -> sequencer.call(() -> 42))).isEqualTo(42);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
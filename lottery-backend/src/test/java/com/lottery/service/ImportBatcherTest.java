@@ -0,0 +1,60 @@
+package com.lottery.service;
+
+import com.lottery.entity.ImportJob;
+import com.lottery.entity.Participant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImportBatcherTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedBatchIsRetriedRowByRow() {
+        ImportJob job = new ImportJob();
+        job.setId("job");
+        job.setCheckpointRow(1);
+
+        // 记录每次提交：写入的姓名、检查点、处理行数、失败行数、错误信息
+        List<String> commits = new ArrayList<>();
+        ImportJobService importJobService = mock(ImportJobService.class);
+        when(importJobService.commitBatch(anyString(), anyList(), anyInt(), anyInt(), anyInt(), anyList()))
+                .thenAnswer(invocation -> {
+                    List<Participant> batch = invocation.getArgument(1);
+                    List<String> names = batch.stream().map(Participant::getName).toList();
+                    // 整批写入失败（如并发写入了同名人员），单行写入只有“乙”失败
+                    if (batch.size() > 1 || names.contains("乙")) {
+                        throw new RuntimeException("唯一约束冲突");
+                    }
+                    List<String> errors = invocation.getArgument(5);
+                    commits.add(names + " " + invocation.getArgument(2) + " " + invocation.getArgument(3)
+                            + " " + invocation.getArgument(4) + " " + errors);
+                    return job;
+                });
+
+        Set<String> names = new HashSet<>();
+        ImportBatcher batcher = new ImportBatcher(importJobService, job, names, 3);
+        batcher.add(2, "甲", null, null, null);
+        batcher.add(3, "乙", null, null, null);
+        batcher.add(4, "丙", null, null, null);
+
+        assertThat(batcher.getInserted()).isEqualTo(2);
+        // 写入失败的姓名移出去重集合，之后的同名行不会被误判为重复
+        assertThat(names).containsExactlyInAnyOrder("甲", "丙");
+        // 逐行写入时检查点不动，最后一次提交才推进检查点，只记写不进去的那一行
+        assertThat(commits).containsExactly(
+                "[甲] 1 0 0 []",
+                "[丙] 1 0 0 []",
+                "[] 4 3 1 [第3行：写入失败：唯一约束冲突]");
+    }
+}
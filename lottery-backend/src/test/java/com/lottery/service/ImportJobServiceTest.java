@@ -0,0 +1,64 @@
+package com.lottery.service;
+
+import com.lottery.common.Result;
+import com.lottery.controller.ParticipantController;
+import com.lottery.entity.ImportJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class ImportJobServiceTest extends IntegrationTestSupport {
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private ParticipantService participantService;
+
+    @Test
+    void queuedJobCancelledBeforeItStarts() {
+        ImportJob job = importJobService.create(csv(), "测试");
+        assertThat(job.getStatus()).isEqualTo("QUEUED");
+
+        assertThat(importJobService.cancel(job.getId()).getStatus()).isEqualTo("CANCELLED");
+        // 出队后发现已取消，不再执行
+        assertThat(importJobService.start(job.getId())).isFalse();
+        assertThat(importJobService.findById(job.getId()).getStatus()).isEqualTo("CANCELLED");
+    }
+
+    @Test
+    void rejectedSubmitLeavesJobResumable() {
+        ExcelService excelService = mock(ExcelService.class);
+        doThrow(new TaskRejectedException("队列已满")).when(excelService).runImport(anyString());
+        ParticipantController controller = new ParticipantController(participantService, excelService,
+                importJobService);
+
+        Result<ImportJob> result = controller.importExcel(csv(), "测试");
+        assertThat(result.getCode()).isEqualTo(500);
+
+        ImportJob job = importJobService.findRecent().get(0);
+        assertThat(job.getStatus()).isEqualTo("INTERRUPTED");
+        assertThat(job.getMessage()).contains("排队已满");
+
+        // 继续导入时同样排队，开始执行后才是导入中
+        assertThat(importJobService.prepareResume(job.getId()).getStatus()).isEqualTo("QUEUED");
+        assertThat(importJobService.start(job.getId())).isTrue();
+        assertThat(importJobService.findById(job.getId()).getStatus()).isEqualTo("RUNNING");
+        importJobService.cancel(job.getId());
+        assertThat(importJobService.isCancelRequested(job.getId())).isTrue();
+        importJobService.finish(job.getId(), "CANCELLED", null);
+    }
+
+    private static MockMultipartFile csv() {
+        return new MockMultipartFile("file", "participants.csv", "text/csv",
+                "姓名,工号,部门\n张三,E1,研发\n".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,80 @@
+package com.lottery.service;
+
+import com.lottery.entity.Participant;
+import com.lottery.entity.Prize;
+import com.lottery.repository.LotteryRecordRepository;
+import com.lottery.repository.ParticipantRepository;
+import com.lottery.repository.PrizeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 集成测试基类：内存数据库，每个用例开始前清空人员和奖项
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+abstract class IntegrationTestSupport {
+
+    @Autowired
+    protected LotteryService lotteryService;
+
+    @Autowired
+    protected DrawSequencer drawSequencer;
+
+    @Autowired
+    protected ParticipantRepository participantRepository;
+
+    @Autowired
+    protected PrizeRepository prizeRepository;
+
+    @Autowired
+    protected LotteryRecordRepository lotteryRecordRepository;
+
+    @Autowired
+    protected ParticipantBatchWriter participantBatchWriter;
+
+    @Autowired
+    protected CandidatePool candidatePool;
+
+    @Autowired
+    protected LiveStatistics liveStatistics;
+
+    @BeforeEach
+    void cleanUp() {
+        drawSequencer.run(lotteryService::reset);
+        lotteryRecordRepository.deleteAllInBatch();
+        participantRepository.deleteAllInBatch();
+        prizeRepository.deleteAllInBatch();
+        candidatePool.reload();
+        liveStatistics.reload();
+    }
+
+    /**
+     * 写入 count 个人员，按序号轮流分到 departments 个部门
+     */
+    protected List<Participant> seedParticipants(int count, int departments) {
+        List<Participant> participants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Participant participant = new Participant();
+            participant.setName("员工" + i);
+            participant.setEmployeeId("E" + i);
+            participant.setDepartment("部门" + (i % departments));
+            participants.add(participant);
+        }
+        participantBatchWriter.insert(participants);
+        return participants;
+    }
+
+    protected Prize createPrize(int level, int count) {
+        Prize prize = new Prize();
+        prize.setName(level + "等奖");
+        prize.setLevel(level);
+        prize.setCount(count);
+        return prizeRepository.save(prize);
+    }
+}
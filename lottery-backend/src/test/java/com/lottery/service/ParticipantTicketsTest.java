@@ -0,0 +1,32 @@
+package com.lottery.service;
+
+import com.lottery.entity.Participant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParticipantTicketsTest extends IntegrationTestSupport {
+
+    @Autowired
+    private ParticipantService participantService;
+
+    @Test
+    void addTicketsRejectsOverflowInsteadOfWrapping() {
+        Participant participant = new Participant();
+        participant.setName("张三");
+        participant.setWeight(ParticipantService.MAX_TICKETS);
+        String id = participantService.add(participant).getId();
+
+        assertThatThrownBy(() -> participantService.addTickets(id, Integer.MAX_VALUE))
+                .hasMessageContaining("券数不能超过");
+        assertThat(participantRepository.findById(id).orElseThrow().getWeight())
+                .isEqualTo(ParticipantService.MAX_TICKETS);
+        assertThat(candidatePool.totalTickets()).isEqualTo(ParticipantService.MAX_TICKETS);
+
+        assertThat(participantService.addTickets(id, Integer.MIN_VALUE).getWeight()).isEqualTo(1);
+        assertThat(participantService.addTickets(id, 9).getWeight()).isEqualTo(10);
+        assertThat(candidatePool.totalTickets()).isEqualTo(10);
+    }
+}
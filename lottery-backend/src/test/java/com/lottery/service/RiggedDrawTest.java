@@ -0,0 +1,48 @@
+package com.lottery.service;
+
+import com.lottery.dto.DrawOptions;
+import com.lottery.entity.Participant;
+import com.lottery.entity.Prize;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 作弊设置与分层抽奖：抽取失败时已移出的必中人员要放回候选池
+ */
+class RiggedDrawTest extends IntegrationTestSupport {
+
+    @Autowired
+    private RiggedSettingService riggedSettingService;
+
+    @Test
+    void failedStratifiedDrawRestoresRiggedWinners() {
+        // 部门0、部门1各10人
+        List<Participant> participants = seedParticipants(20, 2);
+        Participant first = participants.get(0);
+        Participant second = participants.get(2);
+        Prize prize = createPrize(1, 6);
+        drawSequencer.call(() -> riggedSettingService.create(first.getId(), prize.getId(), "test"));
+        drawSequencer.call(() -> riggedSettingService.create(second.getId(), prize.getId(), "test"));
+
+        // 必中的两人占满部门0名额，部门1最多2人，凑不够剩余4个名额
+        DrawOptions options = DrawOptions.of(DrawOptions.MODE_STRATIFIED, 2, false);
+        assertThatThrownBy(() -> drawSequencer.call(() -> lotteryService.draw(prize.getId(), "test", options)))
+                .hasMessageContaining("部门名额");
+
+        assertThat(candidatePool.size()).isEqualTo(20);
+        assertThat(candidatePool.contains(first.getId())).isTrue();
+        assertThat(candidatePool.contains(second.getId())).isTrue();
+
+        // 放宽限制后必中人员仍然生效
+        DrawOptions relaxed = DrawOptions.of(DrawOptions.MODE_STRATIFIED, 4, false);
+        List<String> winners = drawSequencer.call(() -> lotteryService.draw(prize.getId(), "test", relaxed))
+                .getWinners().stream().map(winner -> winner.getId()).toList();
+        assertThat(winners).hasSize(6).contains(first.getId(), second.getId());
+        assertThat(candidatePool.size()).isEqualTo(14);
+    }
+}
@@ -0,0 +1,47 @@
+package com.lottery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RosterServiceTest extends IntegrationTestSupport {
+
+    @Autowired
+    private RosterService rosterService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void versionIsStableAcrossRestartsAndFollowsContent() {
+        seedParticipants(30, 3);
+        RosterService.Snapshot before = rosterService.current();
+        assertThat(before.getAvailable()).hasSize(30);
+
+        // 新实例相当于重启后首次生成
+        RosterService restarted = new RosterService(participantRepository, objectMapper);
+        assertThat(restarted.current().getEtag()).isEqualTo(before.getEtag());
+        assertThat(restarted.current().getVersion()).isEqualTo(before.getVersion());
+
+        drawSequencer.call(() -> lotteryService.draw(createPrize(1, 5).getId(), "test"));
+        RosterService.Snapshot after = rosterService.current();
+        assertThat(after.getVersion()).isNotEqualTo(before.getVersion());
+        assertThat(after.getEtag()).isNotEqualTo(before.getEtag());
+        assertThat(after.getAvailable()).hasSize(25);
+    }
+
+    @Test
+    void contentVersionFitsInJavaScriptNumber() {
+        long version = RosterService.contentVersion(List.of(new RosterService.Entry("1", "张三", "研发", "AVAILABLE")));
+
+        assertThat(version).isBetween(0L, (1L << 53) - 1);
+        assertThat(RosterService.contentVersion(List.of(new RosterService.Entry("1", "张三", "研发", "WON"))))
+                .isNotEqualTo(version);
+        assertThat(RosterService.contentVersion(List.of(new RosterService.Entry("1", "张三研", "发", "AVAILABLE"))))
+                .isNotEqualTo(version);
+    }
+}
@@ -0,0 +1,116 @@
+package com.lottery.service;
+
+import com.lottery.dto.DrawOptions;
+import com.lottery.dto.LotteryResultDTO;
+import com.lottery.entity.Participant;
+import com.lottery.entity.Prize;
+import com.lottery.entity.RiggedSetting;
+import com.lottery.entity.StagedDraw;
+import com.lottery.repository.StagedDrawRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 预抽：选项一致性、作弊设置变化和切换奖项时作废旧结果
+ */
+class StagedDrawTest extends IntegrationTestSupport {
+
+    @Autowired
+    private DrawStager drawStager;
+
+    @Autowired
+    private RiggedSettingService riggedSettingService;
+
+    @Autowired
+    private StagedDrawRepository stagedDrawRepository;
+
+    @Autowired
+    private EpochService epochService;
+
+    @Test
+    void drawWithDifferentOptionsIsRejected() {
+        seedParticipants(50, 5);
+        Prize prize = createPrize(1, 5);
+        DrawOptions weighted = DrawOptions.of(DrawOptions.MODE_WEIGHTED, null, null);
+        start(prize, weighted);
+        String stagedWinners = pendingStaged().get(0).getWinnerIds();
+
+        assertThatThrownBy(() -> drawSequencer.call(() -> lotteryService.draw(prize.getId(), "test")))
+                .hasMessageContaining("抽奖选项不一致");
+        assertThat(candidatePool.size()).isEqualTo(45);
+
+        LotteryResultDTO result = drawSequencer.call(() -> lotteryService.draw(prize.getId(), "test", weighted));
+        assertThat(String.join(",", result.getWinners().stream().map(winner -> winner.getId()).toList()))
+                .isEqualTo(stagedWinners);
+        // 已在管理端提交过，停止时不会再抽一次
+        assertThatThrownBy(() -> drawStager.stop("test")).hasMessageContaining("已抽取完毕");
+    }
+
+    @Test
+    void riggedSettingCreatedWhileRollingReplacesStagedDraw() {
+        List<Participant> participants = seedParticipants(50, 5);
+        Prize prize = createPrize(1, 3);
+        start(prize, DrawOptions.defaults());
+
+        // 选一个未被预抽中的人设为必中
+        Participant rigged = participants.stream()
+                .filter(participant -> candidatePool.contains(participant.getId()))
+                .findFirst().orElseThrow();
+        drawSequencer.call(() -> riggedSettingService.create(rigged.getId(), prize.getId(), "test"));
+
+        assertThat(pendingStaged()).isEmpty();
+        assertThat(candidatePool.size()).isEqualTo(50);
+
+        LotteryResultDTO result = drawStager.stop("test");
+        assertThat(result.getWinners()).extracting(LotteryResultDTO.WinnerDTO::getId).contains(rigged.getId());
+    }
+
+    @Test
+    void deletingRiggedSettingDiscardsStagedDraw() {
+        List<Participant> participants = seedParticipants(50, 5);
+        Prize prize = createPrize(1, 3);
+        Participant rigged = participants.get(7);
+        RiggedSetting setting = drawSequencer.call(
+                () -> riggedSettingService.create(rigged.getId(), prize.getId(), "test"));
+        start(prize, DrawOptions.defaults());
+        assertThat(candidatePool.contains(rigged.getId())).isFalse();
+
+        drawSequencer.run(() -> riggedSettingService.delete(setting.getId()));
+
+        assertThat(pendingStaged()).isEmpty();
+        assertThat(candidatePool.size()).isEqualTo(50);
+        assertThat(candidatePool.contains(rigged.getId())).isTrue();
+        assertThat(drawStager.stop("test").getWinners()).hasSize(3);
+    }
+
+    @Test
+    void switchingPrizeDiscardsPreviousStagedDraw() {
+        seedParticipants(50, 5);
+        Prize first = createPrize(1, 10);
+        Prize second = createPrize(2, 4);
+
+        start(first, DrawOptions.defaults());
+        assertThat(candidatePool.size()).isEqualTo(40);
+        start(second, DrawOptions.defaults());
+
+        List<StagedDraw> pending = pendingStaged();
+        assertThat(pending).extracting(StagedDraw::getPrizeId).containsExactly(second.getId());
+        assertThat(candidatePool.size()).isEqualTo(46);
+        assertThat(drawStager.stop("test").getPrizeId()).isEqualTo(second.getId());
+    }
+
+    private void start(Prize prize, DrawOptions options) {
+        drawStager.start(prize.getId(), "test", options);
+        // 等写线程执行完预抽
+        drawSequencer.run(() -> { });
+    }
+
+    private List<StagedDraw> pendingStaged() {
+        return stagedDrawRepository.findByGenerationAndStatus(epochService.current(), "STAGED");
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * 广播扇出压测
+ *
+ * 建立大量 STOMP 会话订阅 /topic/lottery-result，触发一次抽奖，
+ * 统计从发起抽奖到各会话收到结果的耗时分布（p50 / p99 / max）。
+ *
+ * 用法（Node 22+；Node 20 需加 --experimental-websocket；后端已启动且奖项有剩余名额）：
+ *   node scripts/fanout-bench.js --prize <奖项ID> [--sessions 5000] [--url http://localhost:8080]
+ *
+ * 只用 Node 内置的 WebSocket 和最小 STOMP 帧（CONNECT / SUBSCRIBE / MESSAGE），无需安装依赖。
+ * 注意：会真实执行一次抽奖，压测后请在后台重置。
+ */
+const args = Object.fromEntries(
+  process.argv.slice(2).reduce((pairs, arg, i, all) => {
+    if (arg.startsWith('--')) pairs.push([arg.slice(2), all[i + 1]])
+    return pairs
+  }, [])
+)
+const baseUrl = args.url || 'http://localhost:8080'
+const sessions = Number(args.sessions || 5000)
+const prizeId = args.prize
+const connectBatch = 200
+
+if (!prizeId) {
+  console.error('请通过 --prize 指定奖项ID')
+  process.exit(1)
+}
+
+// 非浏览器客户端直连 SockJS 端点下的原生 WebSocket 地址
+const wsUrl = baseUrl.replace(/^http/, 'ws') + '/ws/websocket'
+
+const decoder = new TextDecoder()
+
+const frame = (command, headers = {}) =>
+  `${command}\n${Object.entries(headers).map(([key, value]) => `${key}:${value}`).join('\n')}\n\n\0`
+
+// 建立一个 STOMP 会话并订阅，收到 MESSAGE 帧时回调
+const connect = (destination, onMessage) => new Promise((resolve, reject) => {
+  const socket = new WebSocket(wsUrl)
+  socket.binaryType = 'arraybuffer'
+  socket.onopen = () => {
+    socket.send(frame('CONNECT', { 'accept-version': '1.2', host: 'localhost', 'heart-beat': '0,0' }))
+  }
+  socket.onmessage = (event) => {
+    const data = typeof event.data === 'string' ? event.data : decoder.decode(event.data)
+    if (data.startsWith('CONNECTED')) {
+      socket.send(frame('SUBSCRIBE', { id: 'sub-0', destination }))
+      resolve(socket)
+    } else if (data.startsWith('MESSAGE')) {
+      onMessage()
+    } else if (data.startsWith('ERROR')) {
+      reject(new Error(data.split('\n\n')[0]))
+    }
+  }
+  socket.onerror = () => reject(new Error('WebSocket连接失败'))
+})
+
+const percentile = (sorted, p) => sorted[Math.min(sorted.length - 1, Math.ceil(sorted.length * p) - 1)]
+
+const main = async () => {
+  const clients = []
+  const received = []
+  let startedAt = 0
+  let resolveAll
+  const allReceived = new Promise((resolve) => { resolveAll = resolve })
+
+  console.log(`建立 ${sessions} 个会话：${wsUrl}`)
+  for (let i = 0; i < sessions; i += connectBatch) {
+    const batch = await Promise.all(
+      Array.from({ length: Math.min(connectBatch, sessions - i) }, () =>
+        connect('/topic/lottery-result', () => {
+          received.push(performance.now() - startedAt)
+          if (received.length === sessions) resolveAll()
+        })
+      )
+    )
+    clients.push(...batch)
+  }
+  // 等待订阅帧全部到达服务端
+  await new Promise((resolve) => setTimeout(resolve, 2000))
+
+  console.log('触发抽奖')
+  startedAt = performance.now()
+  const response = await fetch(`${baseUrl}/api/lottery/draw`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    body: JSON.stringify({ prizeId, operator: 'fanout-bench' })
+  })
+  const httpMs = performance.now() - startedAt
+  const body = await response.json()
+  if (body.code !== 200) {
+    console.error('抽奖失败：', body.message)
+    process.exit(1)
+  }
+
+  await Promise.race([allReceived, new Promise((resolve) => setTimeout(resolve, 30000))])
+
+  const sorted = [...received].sort((a, b) => a - b)
+  console.log(`HTTP响应：${httpMs.toFixed(1)} ms`)
+  console.log(`收到：${sorted.length}/${sessions}`)
+  if (sorted.length > 0) {
+    console.log(`p50：${percentile(sorted, 0.5).toFixed(1)} ms`)
+    console.log(`p99：${percentile(sorted, 0.99).toFixed(1)} ms`)
+    console.log(`max：${sorted[sorted.length - 1].toFixed(1)} ms`)
+  }
+
+  clients.forEach((socket) => socket.close())
+  process.exit(0)
+}
+
+main().catch((error) => {
+  console.error(error)
+  process.exit(1)
+})
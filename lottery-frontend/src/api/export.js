@@ -0,0 +1,28 @@
+/**
+ * 数据导出API
+ *
+ * 导出接口直接返回文件流，由浏览器下载，不经过 axios
+ */
+const download = (path, params) => {
+  const query = new URLSearchParams(
+    Object.entries(params).filter(([, value]) => value)
+  ).toString()
+  window.location.href = `/api/export/${path}?${query}`
+}
+
+export default {
+  // 导出抽奖记录（format: xlsx / csv）
+  records(format = 'xlsx') {
+    download('records', { format })
+  },
+
+  // 导出中奖名单，prizeId为空时导出全部奖项
+  winners(format = 'xlsx', prizeId) {
+    download('winners', { format, prizeId })
+  },
+
+  // 导出人员名单
+  participants(format = 'xlsx') {
+    download('participants', { format })
+  }
+}
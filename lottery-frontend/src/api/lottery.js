@@ -4,9 +4,14 @@ import request from './request'
  * 抽奖API
  */
 export default {
-  // 执行抽奖
-  draw(prizeId, operator = 'System') {
-    return request.post('/lottery/draw', { prizeId, operator })
+  // 执行抽奖（options：mode 抽奖模式 UNIFORM/WEIGHTED/TICKET/STRATIFIED，分层模式另有 maxPerDepartment、proportional）
+  draw(prizeId, operator = 'System', options = {}) {
+    return request.post('/lottery/draw', { prizeId, operator, ...options })
+  },
+
+  // 批量抽奖（按顺序一次抽完多个奖项）
+  drawBatch(prizeIds, operator = 'System', options = {}) {
+    return request.post('/lottery/draw-batch', { prizeIds, operator, ...options })
   },
 
   // 撤销中奖
@@ -29,17 +29,32 @@ export default {
     return request.put(`/participants/${id}`, data)
   },
 
+  // 加券（count为负数时减券）
+  addTickets(id, count) {
+    return request.post(`/participants/${id}/tickets`, { count })
+  },
+
   // 删除人员
   delete(id) {
     return request.delete(`/participants/${id}`)
   },
 
-  // 批量删除
+  // 批量删除（逐项返回结果）
   deleteBatch(ids) {
     return request.delete('/participants/batch', { data: ids })
   },
 
-  // Excel导入
+  // 批量新增或更新（按工号或姓名匹配，逐项返回结果）
+  upsertBatch(participants) {
+    return request.post('/participants/batch', participants)
+  },
+
+  // 批量调整部门（逐项返回结果）
+  changeDepartment(ids, department) {
+    return request.put('/participants/batch/department', { ids, department })
+  },
+
+  // Excel导入（后台执行，返回导入任务）
   importExcel(file) {
     const formData = new FormData()
     formData.append('file', file)
@@ -48,6 +63,26 @@ export default {
     })
   },
 
+  // 查询导入任务
+  getImportJob(jobId) {
+    return request.get(`/participants/import/${jobId}`)
+  },
+
+  // 最近的导入任务
+  getImportJobs() {
+    return request.get('/participants/import/jobs')
+  },
+
+  // 取消导入
+  cancelImport(jobId) {
+    return request.post(`/participants/import/${jobId}/cancel`)
+  },
+
+  // 从检查点继续导入
+  resumeImport(jobId) {
+    return request.post(`/participants/import/${jobId}/resume`)
+  },
+
   // 获取统计信息
   getStatistics() {
     return request.get('/participants/statistics')
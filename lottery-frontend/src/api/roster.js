@@ -0,0 +1,11 @@
+import request from './request'
+
+/**
+ * 大屏名单API
+ */
+export default {
+  // 当前名单（id、姓名、部门、状态，滚动帧下标即名单下标），支持 ETag 缓存
+  current() {
+    return request.get('/roster')
+  }
+}
@@ -6,6 +6,12 @@ class WebSocketService {
     this.client = null
     this.connected = false
     this.subscriptions = {}
+    // 重连后需要重新建立的订阅
+    this.resubscribers = {}
+    // 时钟同步：服务器时间 - 本地时间（毫秒），以及测得的最小往返延迟
+    this.clockOffset = 0
+    this.clockRtt = null
+    this.clockSyncTimer = null
   }
 
   /**
@@ -24,6 +30,8 @@ class WebSocketService {
         onConnect: () => {
           console.log('WebSocket连接成功')
           this.connected = true
+          // 断线重连后服务端订阅已失效，重新订阅
+          Object.values(this.resubscribers).forEach(subscribe => subscribe())
           resolve()
         },
         onStompError: (frame) => {
@@ -45,6 +53,7 @@ class WebSocketService {
    * 断开连接
    */
   disconnect() {
+    clearInterval(this.clockSyncTimer)
     if (this.client) {
       this.client.deactivate()
       this.connected = false
@@ -99,6 +108,174 @@ class WebSocketService {
     return subscription
   }
 
+  /**
+   * 订阅服务端滚动帧，帧格式：名单版本|帧序号|下标,下标,...
+   */
+  subscribeRoll(callback) {
+    if (!this.connected) {
+      throw new Error('WebSocket未连接')
+    }
+
+    const subscription = this.client.subscribe('/topic/roll', (message) => {
+      const [version, sequence, indices] = message.body.split('|')
+      callback({
+        version: Number(version),
+        sequence: Number(sequence),
+        indices: indices.split(',').map(Number)
+      })
+    })
+
+    this.subscriptions['roll'] = subscription
+    return subscription
+  }
+
+  /**
+   * 时钟同步（NTP式）：连续发送若干次，取往返延迟最小的一次计算偏移
+   *
+   * offset = ((t1 - t0) + (t2 - t3)) / 2，rtt = (t3 - t0) - (t2 - t1)
+   */
+  syncClock(samples = 8) {
+    if (!this.connected) {
+      return Promise.resolve()
+    }
+
+    return new Promise((resolve) => {
+      let best = null
+      let received = 0
+      const subscription = this.client.subscribe('/user/queue/time-sync', (message) => {
+        const t3 = Date.now()
+        const { clientSendTime: t0, serverReceiveTime: t1, serverSendTime: t2 } = JSON.parse(message.body)
+        const rtt = (t3 - t0) - (t2 - t1)
+        if (best === null || rtt < best.rtt) {
+          best = { rtt, offset: ((t1 - t0) + (t2 - t3)) / 2 }
+        }
+        if (++received === samples) {
+          finish()
+        } else {
+          send()
+        }
+      })
+      const send = () => {
+        this.client.publish({
+          destination: '/app/time-sync',
+          body: JSON.stringify({ clientSendTime: Date.now() })
+        })
+      }
+      const finish = () => {
+        clearTimeout(timeout)
+        subscription.unsubscribe()
+        if (best) {
+          this.clockOffset = best.offset
+          this.clockRtt = best.rtt
+          console.log(`时钟同步：偏移 ${best.offset.toFixed(1)} ms，往返 ${best.rtt} ms`)
+        }
+        resolve()
+      }
+      const timeout = setTimeout(finish, 5000)
+      send()
+    })
+  }
+
+  /**
+   * 开始定期时钟同步（重连后自动重新同步）
+   */
+  startClockSync(interval = 60000) {
+    this.resubscribers['clockSync'] = () => this.syncClock()
+    clearInterval(this.clockSyncTimer)
+    this.clockSyncTimer = setInterval(() => this.syncClock(), interval)
+    return this.syncClock()
+  }
+
+  /**
+   * 当前服务器时间（毫秒）
+   */
+  serverNow() {
+    return Date.now() + this.clockOffset
+  }
+
+  /**
+   * 等到指定的服务器时刻（已过则立即返回）
+   */
+  waitUntilServerTime(serverTime) {
+    const delay = serverTime ? serverTime - this.serverNow() : 0
+    return new Promise((resolve) => setTimeout(resolve, Math.max(0, delay)))
+  }
+
+  /**
+   * 订阅现场状态：先订阅增量，再订阅快照（/app/state 直接回复当前快照）
+   *
+   * 快照之前到达的增量先缓存，序号不大于快照的丢弃；发现序号不连续或收到 RESYNC（服务端丢弃了部分推送）时重新拉取快照。
+   * 重连后自动重新订阅，只需一次快照即可恢复。
+   */
+  subscribeState({ onSnapshot, onDelta }) {
+    if (!this.connected) {
+      throw new Error('WebSocket未连接')
+    }
+
+    let seq = null
+    let pending = []
+
+    const applyDelta = (delta) => {
+      if (delta.seq <= seq) {
+        return
+      }
+      if (delta.seq !== seq + 1 || delta.type === 'RESYNC') {
+        requestSnapshot()
+        return
+      }
+      seq = delta.seq
+      onDelta(delta)
+    }
+
+    const requestSnapshot = () => {
+      seq = null
+      pending = []
+      const subscription = this.client.subscribe('/app/state', (message) => {
+        subscription.unsubscribe()
+        const snapshot = JSON.parse(message.body)
+        seq = snapshot.seq
+        onSnapshot(snapshot)
+        const buffered = pending
+        pending = []
+        buffered.forEach(applyDelta)
+      })
+    }
+
+    const subscribe = () => {
+      this.subscriptions['state'] = this.client.subscribe('/topic/state', (message) => {
+        const delta = JSON.parse(message.body)
+        if (seq === null) {
+          pending.push(delta)
+        } else {
+          applyDelta(delta)
+        }
+      })
+      requestSnapshot()
+    }
+
+    this.resubscribers['state'] = subscribe
+    subscribe()
+  }
+
+  /**
+   * 订阅导入任务进度（PROGRESS / ERROR / DONE），重连后自动恢复
+   */
+  subscribeImport(jobId, callback) {
+    if (!this.connected) {
+      throw new Error('WebSocket未连接')
+    }
+
+    const key = `import:${jobId}`
+    const subscribe = () => {
+      this.subscriptions[key] = this.client.subscribe(`/topic/import/${jobId}`, (message) => {
+        callback(JSON.parse(message.body))
+      })
+    }
+    this.resubscribers[key] = subscribe
+    subscribe()
+    return key
+  }
+
   /**
    * 取消订阅
    */
@@ -107,6 +284,7 @@ class WebSocketService {
       this.subscriptions[key].unsubscribe()
       delete this.subscriptions[key]
     }
+    delete this.resubscribers[key]
   }
 
   /**
@@ -1,8 +1,9 @@
 import { defineStore } from 'pinia'
 import { ref, computed } from 'vue'
 import prizeApi from '@/api/prize'
-import participantApi from '@/api/participant'
+import rosterApi from '@/api/roster'
 import lotteryApi from '@/api/lottery'
+import websocket from '@/api/websocket'
 
 export const useLotteryStore = defineStore('lottery', () => {
   // 状态
@@ -10,8 +11,11 @@ export const useLotteryStore = defineStore('lottery', () => {
   const participants = ref([])
   const currentPrize = ref(null)
   const isDrawing = ref(false)
+  const serverRoll = ref(false) // 是否由后端推送滚动帧
   const winners = ref([])
   const chatMessages = ref([]) // 对话记录
+  const liveCounters = ref(null) // 现场人数统计
+  const recentWinners = ref([]) // 最近中奖
 
   // 计算属性
   const pendingPrizes = computed(() =>
@@ -39,7 +43,9 @@ export const useLotteryStore = defineStore('lottery', () => {
   // 加载参与人员列表
   const loadParticipants = async () => {
     try {
-      participants.value = await participantApi.findAll()
+      // 大屏只需要精简名单，未变化时浏览器按 ETag 直接复用缓存
+      const roster = await rosterApi.current()
+      participants.value = roster.participants
     } catch (error) {
       console.error('加载人员失败：', error)
       throw error
@@ -51,31 +57,119 @@ export const useLotteryStore = defineStore('lottery', () => {
     await Promise.all([loadPrizes(), loadParticipants()])
   }
 
+  // 应用现场状态快照（订阅/重连时）
+  const applySnapshot = (snapshot) => {
+    // 快照中的奖项只含展示字段，按ID合并到已有奖项上
+    const existing = Object.fromEntries(prizes.value.map(p => [p.id, p]))
+    prizes.value = snapshot.prizes.map(p => ({ ...existing[p.id], ...p }))
+    liveCounters.value = snapshot.counters
+    recentWinners.value = snapshot.recentWinners
+    if (currentPrize.value) {
+      currentPrize.value = prizes.value.find(p => p.id === currentPrize.value.id) || currentPrize.value
+    }
+  }
+
+  // 名单重新加载：进行中时只记一次，结束后再加载一次（连续变更合并）
+  let participantsReloading = null
+  let participantsDirty = false
+  const reloadParticipants = async () => {
+    if (participantsReloading) {
+      participantsDirty = true
+      return participantsReloading
+    }
+    participantsReloading = (async () => {
+      do {
+        participantsDirty = false
+        await loadParticipants()
+      } while (participantsDirty)
+    })()
+    try {
+      await participantsReloading
+    } finally {
+      participantsReloading = null
+    }
+  }
+
+  // 应用现场状态增量
+  const applyDelta = async (delta) => {
+    switch (delta.type) {
+      case 'DRAW': {
+        // 增量携带奖项最新状态，直接覆盖（与接口返回后的重新加载不冲突）
+        const { result, prize } = delta.data
+        const index = prizes.value.findIndex(p => p.id === result.prizeId)
+        if (prize && index >= 0) {
+          prizes.value[index] = { ...prizes.value[index], ...prize }
+        }
+        const wonIds = new Set(result.winners.map(w => w.id))
+        participants.value.forEach(p => {
+          if (wonIds.has(p.id)) {
+            p.status = 'WON'
+          }
+        })
+        break
+      }
+      case 'CANCEL': {
+        const { participantId, prize } = delta.data
+        const index = prize ? prizes.value.findIndex(p => p.id === prize.id) : -1
+        if (index >= 0) {
+          prizes.value[index] = { ...prizes.value[index], ...prize }
+        }
+        const participant = participants.value.find(p => p.id === participantId)
+        if (participant) {
+          participant.status = 'AVAILABLE'
+        }
+        recentWinners.value = recentWinners.value.filter(w => w.participantId !== participantId)
+        break
+      }
+      case 'ROSTER': {
+        // 名单变更：人数和奖项状态随增量下发，人员名单变化时只重新拉取精简名单
+        const { sources, counters, prizes: prizeStates } = delta.data
+        liveCounters.value = counters
+        if (prizeStates) {
+          const existing = Object.fromEntries(prizes.value.map(p => [p.id, p]))
+          prizes.value = prizeStates.map(p => ({ ...existing[p.id], ...p }))
+          // 新增的奖项缺少描述等完整字段，补拉一次
+          if (prizeStates.some(p => !existing[p.id])) {
+            await loadPrizes()
+          }
+        }
+        if (sources.includes('PARTICIPANT')) {
+          await reloadParticipants()
+        }
+        break
+      }
+      default:
+        // 重置：重新加载
+        await loadAll()
+    }
+  }
+
   // 开始抽奖
-  const startDraw = (prize) => {
+  const startDraw = (prize, useServerRoll = false) => {
     currentPrize.value = prize
+    serverRoll.value = useServerRoll
     isDrawing.value = true
     winners.value = []
   }
 
   // 停止抽奖
-  const stopDraw = async () => {
+  const stopDraw = async (committedResult) => {
     if (!currentPrize.value) {
       return
     }
 
     try {
-      // 调用后端接口执行抽奖
-      const result = await lotteryApi.draw(currentPrize.value.id, 'System')
+      // 后端已提交预抽结果则直接使用，否则调用后端接口执行抽奖
+      const result = committedResult || await lotteryApi.draw(currentPrize.value.id, 'System')
 
-      // 更新中奖名单
+      // 等到服务器揭晓时刻再更新中奖名单，各屏幕同时揭晓
+      await websocket.waitUntilServerTime(result.revealAt)
       winners.value = result.winners
+      isDrawing.value = false
 
       // 重新加载数据
       await loadAll()
 
-      isDrawing.value = false
-
       return result
     } catch (error) {
       console.error('抽奖失败：', error)
@@ -153,8 +247,11 @@ export const useLotteryStore = defineStore('lottery', () => {
     participants,
     currentPrize,
     isDrawing,
+    serverRoll,
     winners,
     chatMessages,
+    liveCounters,
+    recentWinners,
 
     // 计算属性
     pendingPrizes,
@@ -165,6 +262,8 @@ export const useLotteryStore = defineStore('lottery', () => {
     loadPrizes,
     loadParticipants,
     loadAll,
+    applySnapshot,
+    applyDelta,
     startDraw,
     stopDraw,
     reset,